@@ -0,0 +1,112 @@
+package assignments.Ex3;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch memory for breadth-first searches over a flat cell index.
+ *
+ * <p>A workspace owns three primitive buffers sized for a given number of cells:
+ * <ul>
+ *   <li><b>queue</b>: an int ring buffer of cell indices (FIFO)</li>
+ *   <li><b>visited</b>: a generation-stamped array; a cell is visited iff its stamp equals the current generation</li>
+ *   <li><b>parent</b>: the predecessor cell index of each visited cell (valid only for visited cells)</li>
+ * </ul>
+ *
+ * <p>Starting a new search with {@link #begin(int)} only bumps the generation counter, so the
+ * visited array never has to be cleared between searches (except once every 2^31 searches).
+ * After the first search on a given board size, a BFS performs no allocation at all.
+ *
+ * <p>A workspace is not thread-safe; keep one per owner (map, algorithm instance) or per thread.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Map
+ */
+public final class BfsWorkspace {
+
+    private int[] queue = new int[0];
+    private int[] stamp = new int[0];
+    private int[] parent = new int[0];
+    private int gen = 0;
+    private int head, tail, size;
+
+    /**
+     * Prepares the workspace for a new search over {@code cells} cells.
+     *
+     * <p>Grows the buffers if needed, empties the queue and invalidates all visited marks.
+     *
+     * @param cells the number of cells addressed by the search (indices 0..cells-1)
+     */
+    public void begin(int cells) {
+        if (stamp.length < cells) {
+            queue = new int[cells];
+            stamp = new int[cells];
+            parent = new int[cells];
+            gen = 0;
+        }
+        gen++;
+        if (gen == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            gen = 1;
+        }
+        head = tail = size = 0;
+    }
+
+    /**
+     * @param cell the cell index
+     * @return {@code true} iff the cell was marked during the current search
+     */
+    public boolean isVisited(int cell) {
+        return stamp[cell] == gen;
+    }
+
+    /**
+     * Marks a cell as visited and records its predecessor.
+     *
+     * @param cell the cell index
+     * @param from the predecessor cell index (or -1 for a source)
+     */
+    public void visit(int cell, int from) {
+        stamp[cell] = gen;
+        parent[cell] = from;
+    }
+
+    /**
+     * @param cell a visited cell index
+     * @return the predecessor recorded by {@link #visit(int, int)}, or -1 for a source
+     */
+    public int parentOf(int cell) {
+        return parent[cell];
+    }
+
+    /**
+     * Appends a cell index to the tail of the queue.
+     *
+     * @param cell the cell index
+     */
+    public void push(int cell) {
+        queue[tail] = cell;
+        tail++;
+        if (tail == queue.length) tail = 0;
+        size++;
+    }
+
+    /**
+     * Removes and returns the cell index at the head of the queue.
+     *
+     * @return the head cell index
+     */
+    public int poll() {
+        int v = queue[head];
+        head++;
+        if (head == queue.length) head = 0;
+        size--;
+        return v;
+    }
+
+    /** @return {@code true} iff the queue holds no cells. */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
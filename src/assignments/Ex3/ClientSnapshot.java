@@ -0,0 +1,151 @@
+package assignments.Ex3;
+
+import exe.ex3.game.GhostCL;
+import exe.ex3.game.PacmanGame;
+
+/**
+ * Per-tick, primitive view of the course game's entities, used by {@link Ex3Algo}.
+ *
+ * <p>The course API reports positions as {@code "x,y"} strings and eatable timers through
+ * {@link GhostCL} calls. A snapshot decodes all of them once per {@code move()}:
+ * <ul>
+ *   <li><b>Pac-Man:</b> position</li>
+ *   <li><b>Ghosts:</b> position and remaining eatable time, in parallel int/double arrays</li>
+ *   <li><b>Danger index:</b> O(1) "is a non-eatable ghost on (x,y)?" via a generation-stamped cell array</li>
+ * </ul>
+ * Positions are parsed directly from the characters (no trimming, substrings or boxing), and all
+ * arrays are reused across ticks, so refreshing a snapshot allocates nothing in the steady state.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Ex3Algo
+ */
+final class ClientSnapshot {
+
+    private int w, h;
+    private int pacX, pacY;
+
+    private int ghostCount;
+    private int[] ghostX = new int[0], ghostY = new int[0];
+    private double[] eatable = new double[0];
+    private boolean powerMode;
+
+    private int[] dangerStamp = new int[0];
+    private int dangerGen = 0;
+
+    /** Scratch for {@link #parseXY}: the two decoded coordinates. */
+    private int px, py;
+
+    /**
+     * Decodes the current tick.
+     *
+     * @param game the course game
+     * @param b the board of this tick (used for its dimensions)
+     * @param code the game access code
+     */
+    void update(PacmanGame game, int[][] b, int code) {
+        w = b.length;
+        h = b[0].length;
+
+        parseXY(game.getPos(code));
+        pacX = px;
+        pacY = py;
+
+        if (dangerStamp.length != w * h) {
+            dangerStamp = new int[w * h];
+            dangerGen = 0;
+        }
+        dangerGen++;
+
+        GhostCL[] ghosts = game.getGhosts(code);
+        int n = (ghosts == null) ? 0 : ghosts.length;
+        if (ghostX.length < n) {
+            ghostX = new int[n];
+            ghostY = new int[n];
+            eatable = new double[n];
+        }
+
+        ghostCount = 0;
+        powerMode = false;
+        for (int i = 0; i < n; i++) {
+            GhostCL g = ghosts[i];
+            if (g == null) continue;
+
+            parseXY(g.getPos(code));
+            double e = g.remainTimeAsEatable(code);
+
+            int k = ghostCount++;
+            ghostX[k] = px;
+            ghostY[k] = py;
+            eatable[k] = e;
+
+            if (e > 0) powerMode = true;
+            else if (px >= 0 && py >= 0 && px < w && py < h) dangerStamp[px * h + py] = dangerGen;
+        }
+    }
+
+    /** @return Pac-Man's x-coordinate as reported by the game. */
+    int pacX() { return pacX; }
+
+    /** @return Pac-Man's y-coordinate as reported by the game. */
+    int pacY() { return pacY; }
+
+    /** @return the number of (non-null) ghosts. */
+    int ghostCount() { return ghostCount; }
+
+    /** @return the x-coordinate of ghost {@code i}. */
+    int ghostX(int i) { return ghostX[i]; }
+
+    /** @return the y-coordinate of ghost {@code i}. */
+    int ghostY(int i) { return ghostY[i]; }
+
+    /** @return {@code true} if ghost {@code i} is currently non-eatable. */
+    boolean isDanger(int i) { return eatable[i] <= 0; }
+
+    /** @return {@code true} if at least one ghost is eatable (power mode). */
+    boolean powerMode() { return powerMode; }
+
+    /** @return {@code true} if a non-eatable ghost stands exactly on (x,y). */
+    boolean isDangerAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= w || y >= h) return false;
+        return dangerStamp[x * h + y] == dangerGen;
+    }
+
+    /**
+     * Parses an {@code "x,y"} position (surrounding whitespace allowed) into {@link #px}/{@link #py}.
+     * Anything malformed decodes as (0,0), as the original string-based parser did.
+     */
+    private void parseXY(Object posObj) {
+        px = py = 0;
+        if (posObj == null) return;
+        CharSequence s = (posObj instanceof CharSequence cs) ? cs : posObj.toString();
+
+        int len = s.length(), i = 0;
+        int x = 0;
+        for (int k = 0; k < 2; k++) {
+            while (i < len && s.charAt(i) <= ' ') i++;
+            boolean neg = i < len && s.charAt(i) == '-';
+            if (!neg && i < len && s.charAt(i) == '+') i++;
+            if (neg) i++;
+            int start = i;
+            long v = 0;
+            while (i < len && s.charAt(i) >= '0' && s.charAt(i) <= '9' && v <= Integer.MAX_VALUE) {
+                v = v * 10 + (s.charAt(i++) - '0');
+            }
+            if (i == start || v > Integer.MAX_VALUE) return;
+            while (i < len && s.charAt(i) <= ' ') i++;
+            int val = (int) (neg ? -v : v);
+            if (k == 0) {
+                if (i >= len || s.charAt(i) != ',') return;
+                i++;
+                x = val;
+            }
+            else {
+                if (i != len) return;
+                px = x;
+                py = val;
+            }
+        }
+    }
+}
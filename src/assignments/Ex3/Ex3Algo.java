@@ -2,7 +2,6 @@ package assignments.Ex3;
 
 
 import exe.ex3.game.Game;
-import exe.ex3.game.GhostCL;
 import exe.ex3.game.PacManAlgo;
 import exe.ex3.game.PacmanGame;
 
@@ -75,6 +74,15 @@ public class Ex3Algo implements PacManAlgo {
 
 	private final ArrayDeque<Long> lastPositions = new ArrayDeque<>();
 
+	/** Distance of every cell to the nearest danger ghost (rebuilt once per move). */
+	private final ThreatField threat = new ThreatField();
+
+	/** This tick's decoded Pac-Man / ghost positions and danger index (refreshed once per move). */
+	private final ClientSnapshot snap = new ClientSnapshot();
+
+	/** Last known cell of a DOT / POWER value (index 0 / 1), checked first by {@link #boardHasValue}. */
+	private final int[] foodHintX = {-1, -1}, foodHintY = {-1, -1};
+
 
 	public Ex3Algo() { _count = 0; }
 
@@ -91,6 +99,7 @@ public class Ex3Algo implements PacManAlgo {
 		lastY = Integer.MIN_VALUE;
 		lastDir = Game.STAY;
 		baseWallValue = Integer.MIN_VALUE;
+		foodHintX[0] = foodHintX[1] = -1;
 		_count = 0;
 	}
 
@@ -119,25 +128,26 @@ public class Ex3Algo implements PacManAlgo {
 			baseWallValue = detectWallValueStable(b);
 		}
 
-		int[] pac = parseXY(game.getPos(code));
-		int px = wrapX(pac[0], b), py = wrapY(pac[1], b);
+		snap.update(game, b, code);
+		int px = wrapX(snap.pacX(), b), py = wrapY(snap.pacY(), b);
 
 		if (px == lastX && py == lastY) stuckCount++;
 		else stuckCount = 0;
 
-		GhostCL[] ghosts = game.getGhosts(code);
 		pushPos(px, py);
 
-		boolean powerMode = isPowerMode(ghosts, code);
+		boolean powerMode = snap.powerMode();
 
 		// Block GREEN if:
 		// 1) power mode active (POWER LOCK), OR
 		// 2) first ~5 seconds
 		boolean blockPowerTiles = powerMode || (_count <= NO_POWER_FIRST_TICKS);
 
+		buildThreatField(b, blockPowerTiles);
+
 		// Opening: just start moving (still obeys passable rules)
 		if (_count <= OPENING_STEPS) {
-			int op = openingMove(px, py, b, blockPowerTiles, ghosts, code);
+			int op = openingMove(px, py, b, blockPowerTiles);
 			if (op != Game.STAY) {
 				remember(px, py, op);
 				return op;
@@ -148,26 +158,26 @@ public class Ex3Algo implements PacManAlgo {
 
 		if (powerMode) {
 			// While protected: clear regular dots quickly (GREEN is blocked anyway)
-			chosen = bfsToNearestValueSmart(px, py, b, DOT, blockPowerTiles, ghosts, code);
-			if (chosen == Game.STAY) chosen = anyLegalMove(px, py, b, blockPowerTiles, ghosts, code);
+			chosen = bfsToNearestValueSmart(px, py, b, DOT, blockPowerTiles);
+			if (chosen == Game.STAY) chosen = anyLegalMove(px, py, b, blockPowerTiles);
 		} else {
-			int curThreat = minBfsDistToDangerGhost(px, py, b, ghosts, code, blockPowerTiles);
+			int curThreat = threat.dist(px, py);
 
 			if (curThreat != Integer.MAX_VALUE && curThreat <= DANGER_TRIGGER) {
-				chosen = escapeMove(px, py, b, blockPowerTiles, ghosts, code, curThreat);
+				chosen = escapeMove(px, py, b, blockPowerTiles, curThreat);
 			} else {
-				chosen = eatFastMove(px, py, b, blockPowerTiles, ghosts, code, curThreat);
+				chosen = eatFastMove(px, py, b, blockPowerTiles, curThreat);
 			}
 		}
 
-		if (chosen == Game.STAY) chosen = anyLegalMove(px, py, b, blockPowerTiles, ghosts, code);
+		if (chosen == Game.STAY) chosen = anyLegalMove(px, py, b, blockPowerTiles);
 
 		// loop-breaking + stuck handling
-		chosen = breakLoopIfNeeded(px, py, b, chosen, blockPowerTiles, ghosts, code);
-		if (stuckCount >= 3) chosen = forceDifferentLegal(px, py, b, chosen, blockPowerTiles, ghosts, code);
+		chosen = breakLoopIfNeeded(px, py, b, chosen, blockPowerTiles);
+		if (stuckCount >= 3) chosen = forceDifferentLegal(px, py, b, chosen, blockPowerTiles);
 
 		// avoid reversing direction if possible
-		chosen = applyNoReverse(px, py, b, chosen, blockPowerTiles, ghosts, code);
+		chosen = applyNoReverse(px, py, b, chosen, blockPowerTiles);
 
 		remember(px, py, chosen);
 		return chosen;
@@ -179,8 +189,7 @@ public class Ex3Algo implements PacManAlgo {
 	 * Choose the move that maximizes distance from the nearest danger (non-eatable) ghost.
 	 * Uses a hard-avoid threshold when possible; relaxes if trapped.
 	 */
-	private int escapeMove(int px, int py, int[][] b, boolean blockPowerTiles,
-						   GhostCL[] ghosts, int code, int curThreat) {
+	private int escapeMove(int px, int py, int[][] b, boolean blockPowerTiles, int curThreat) {
 		int[] dirs = {Game.UP, Game.LEFT, Game.DOWN, Game.RIGHT};
 
 		int bestDir = Game.STAY;
@@ -190,14 +199,14 @@ public class Ex3Algo implements PacManAlgo {
 		for (int d : dirs) {
 			int nx = stepX(px, d, b);
 			int ny = stepY(py, d, b);
-			if (!passable(nx, ny, b, blockPowerTiles, ghosts, code)) continue;
+			if (!passable(nx, ny, b, blockPowerTiles)) continue;
 
-			int nt = minBfsDistToDangerGhost(nx, ny, b, ghosts, code, blockPowerTiles);
+			int nt = threat.dist(nx, ny);
 			if (nt <= HARD_AVOID && curThreat > HARD_AVOID) continue;
 
 			int score =
 					safeVal(nt) * 2000 +
-							countExits(nx, ny, b, blockPowerTiles, ghosts, code) * 120 +
+							countExits(nx, ny, b, blockPowerTiles) * 120 +
 							(d == lastDir ? 40 : 0) +
 							(isRecentPos(nx, ny) ? -300 : 0);
 
@@ -212,13 +221,13 @@ public class Ex3Algo implements PacManAlgo {
 		for (int d : dirs) {
 			int nx = stepX(px, d, b);
 			int ny = stepY(py, d, b);
-			if (!passable(nx, ny, b, blockPowerTiles, ghosts, code)) continue;
+			if (!passable(nx, ny, b, blockPowerTiles)) continue;
 
-			int nt = minBfsDistToDangerGhost(nx, ny, b, ghosts, code, blockPowerTiles);
+			int nt = threat.dist(nx, ny);
 
 			int score =
 					safeVal(nt) * 2000 +
-							countExits(nx, ny, b, blockPowerTiles, ghosts, code) * 120 +
+							countExits(nx, ny, b, blockPowerTiles) * 120 +
 							(d == lastDir ? 40 : 0) +
 							(isRecentPos(nx, ny) ? -300 : 0);
 
@@ -242,26 +251,25 @@ public class Ex3Algo implements PacManAlgo {
 	 * Choose the nearest target type (DOT vs POWER) using BFS distance.
 	 * Default prefers DOT; allows POWER only when strategically valuable.
 	 */
-	private int eatFastMove(int px, int py, int[][] b, boolean blockPowerTiles,
-							GhostCL[] ghosts, int code, int curThreat) {
-		int dotDist = nearestTargetDist(px, py, b, DOT, blockPowerTiles, ghosts, code);
-		int powDist = nearestTargetDist(px, py, b, POWER, blockPowerTiles, ghosts, code);
+	private int eatFastMove(int px, int py, int[][] b, boolean blockPowerTiles, int curThreat) {
+		int dotDist = nearestTargetDist(px, py, b, DOT, blockPowerTiles);
+		int powDist = nearestTargetDist(px, py, b, POWER, blockPowerTiles);
 
 		boolean dangerNear = (curThreat != Integer.MAX_VALUE && curThreat <= POWER_PREFER_IF_DANGER_LE);
 		boolean powerVeryClose = (powDist != Integer.MAX_VALUE && powDist <= POWER_TAKE_IF_DIST_LE);
 
 		if (dotDist == Integer.MAX_VALUE && powDist == Integer.MAX_VALUE) return Game.STAY;
-		if (dotDist == Integer.MAX_VALUE) return bfsToNearestValueSmart(px, py, b, POWER, blockPowerTiles, ghosts, code);
-		if (powDist == Integer.MAX_VALUE) return bfsToNearestValueSmart(px, py, b, DOT, blockPowerTiles, ghosts, code);
+		if (dotDist == Integer.MAX_VALUE) return bfsToNearestValueSmart(px, py, b, POWER, blockPowerTiles);
+		if (powDist == Integer.MAX_VALUE) return bfsToNearestValueSmart(px, py, b, DOT, blockPowerTiles);
 
 		boolean shouldTakePower = dangerNear || powerVeryClose || (powDist + 2 < dotDist);
 		int target = shouldTakePower ? POWER : DOT;
 
-		int dir = bfsToNearestValueSmart(px, py, b, target, blockPowerTiles, ghosts, code);
+		int dir = bfsToNearestValueSmart(px, py, b, target, blockPowerTiles);
 		if (dir != Game.STAY) return dir;
 
 		int other = (target == DOT) ? POWER : DOT;
-		return bfsToNearestValueSmart(px, py, b, other, blockPowerTiles, ghosts, code);
+		return bfsToNearestValueSmart(px, py, b, other, blockPowerTiles);
 	}
 
 	// ===================== BETTER NEAREST (BFS + TIE-BREAK) =====================
@@ -278,7 +286,7 @@ public class Ex3Algo implements PacManAlgo {
 	 * @return the first move direction toward the selected best target, or {@link Game#STAY}.
 	 */
 	private int bfsToNearestValueSmart(int px, int py, int[][] b, int targetValue,
-									   boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+									   boolean blockPowerTiles) {
 		if (blockPowerTiles && targetValue == POWER) return Game.STAY;
 
 		int w = b.length, h = b[0].length;
@@ -317,7 +325,7 @@ public class Ex3Algo implements PacManAlgo {
 				int ny = stepY(cy, d, b);
 
 				if (vis[nx][ny]) continue;
-				if (!passable(nx, ny, b, blockPowerTiles, ghosts, code)) continue;
+				if (!passable(nx, ny, b, blockPowerTiles)) continue;
 
 				vis[nx][ny] = true;
 				dist[nx][ny] = cd + 1;
@@ -347,11 +355,11 @@ public class Ex3Algo implements PacManAlgo {
 			int dir = firstDir[x][y];
 			if (dir == Game.STAY) continue;
 
-			int threat = minBfsDistToDangerGhost(x, y, b, ghosts, code, blockPowerTiles);
-			int exits = countExits(x, y, b, blockPowerTiles, ghosts, code);
+			int danger = threat.dist(x, y);
+			int exits = countExits(x, y, b, blockPowerTiles);
 
 			int score =
-					safeVal(threat) * 1000 +
+					safeVal(danger) * 1000 +
 							exits * 120 +
 							(dir == lastDir ? 40 : 0) +
 							(isRecentPos(x, y) ? -400 : 0);
@@ -373,7 +381,7 @@ public class Ex3Algo implements PacManAlgo {
 	 * @return shortest distance in steps, or {@link Integer#MAX_VALUE} if unreachable / not allowed.
 	 */
 	private int nearestTargetDist(int sx, int sy, int[][] b, int targetValue,
-								  boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+								  boolean blockPowerTiles) {
 		if (blockPowerTiles && targetValue == POWER) return Integer.MAX_VALUE;
 
 		int w = b.length, h = b[0].length;
@@ -395,7 +403,7 @@ public class Ex3Algo implements PacManAlgo {
 				int ny = stepY(y, d, b);
 
 				if (vis[nx][ny]) continue;
-				if (!passable(nx, ny, b, blockPowerTiles, ghosts, code)) continue;
+				if (!passable(nx, ny, b, blockPowerTiles)) continue;
 
 				vis[nx][ny] = true;
 				q.add(new int[]{nx, ny, dist + 1});
@@ -405,59 +413,17 @@ public class Ex3Algo implements PacManAlgo {
 	}
 
 	/**
-	 * @return minimal BFS distance from (px,py) to any non-eatable ghost.
+	 * Rebuilds {@link #threat} with one multi-source BFS from all non-eatable ghosts.
+	 * Only walls (and blocked POWER tiles) stop the search; afterwards each threat lookup is O(1).
 	 */
-	private int minBfsDistToDangerGhost(int px, int py, int[][] b, GhostCL[] ghosts,
-										int code, boolean blockPowerTiles) {
-		int best = Integer.MAX_VALUE;
-		if (ghosts == null) return best;
-
-		for (GhostCL g : ghosts) {
-			if (g == null) continue;
-			if (g.remainTimeAsEatable(code) > 0) continue;
-			int[] gp = parseXY(g.getPos(code));
-			int gx = wrapX(gp[0], b), gy = wrapY(gp[1], b);
-			int d = bfsDist(px, py, gx, gy, b, blockPowerTiles, ghosts, code);
-			best = Math.min(best, d);
+	private void buildThreatField(int[][] b, boolean blockPowerTiles) {
+		threat.begin(b.length, b[0].length, true, (x, y) ->
+				b[x][y] != baseWallValue && !(blockPowerTiles && b[x][y] == POWER));
+		for (int i = 0; i < snap.ghostCount(); i++) {
+			if (!snap.isDanger(i)) continue;
+			threat.addSource(wrapX(snap.ghostX(i), b), wrapY(snap.ghostY(i), b));
 		}
-		return best;
-	}
-
-	/**
-	 * BFS distance between two coordinates (walls/ghost blocks apply).
-	 */
-	private int bfsDist(int sx, int sy, int tx, int ty, int[][] b,
-						boolean blockPowerTiles, GhostCL[] ghosts, int code) {
-		if (sx == tx && sy == ty) return 0;
-
-		int w = b.length, h = b[0].length;
-		boolean[][] vis = new boolean[w][h];
-		ArrayDeque<int[]> q = new ArrayDeque<>();
-		q.add(new int[]{sx, sy, 0});
-		vis[sx][sy] = true;
-
-		int[] dirs = {Game.UP, Game.LEFT, Game.DOWN, Game.RIGHT};
-
-		while (!q.isEmpty()) {
-			int[] cur = q.poll();
-			int x = cur[0], y = cur[1], dist = cur[2];
-
-			for (int d : dirs) {
-				int nx = stepX(x, d, b);
-				int ny = stepY(y, d, b);
-
-				if (vis[nx][ny]) continue;
-				if (b[nx][ny] == baseWallValue) continue;
-				if (blockPowerTiles && b[nx][ny] == POWER) continue;
-				if (isNonEatableGhostAt(nx, ny, ghosts, code)) continue;
-
-				if (nx == tx && ny == ty) return dist + 1;
-
-				vis[nx][ny] = true;
-				q.add(new int[]{nx, ny, dist + 1});
-			}
-		}
-		return Integer.MAX_VALUE;
+		threat.propagate();
 	}
 
 	// ===================== LOOP =====================
@@ -480,7 +446,7 @@ public class Ex3Algo implements PacManAlgo {
 	 * If chosen move leads to a recently visited position, try alternative legal move to break loops.
 	 */
 	private int breakLoopIfNeeded(int px, int py, int[][] b, int chosen,
-								  boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+								  boolean blockPowerTiles) {
 		int nx = stepX(px, chosen, b);
 		int ny = stepY(py, chosen, b);
 		if (!isRecentPos(nx, ny)) return chosen;
@@ -489,7 +455,7 @@ public class Ex3Algo implements PacManAlgo {
 		for (int d : dirs) {
 			if (d == chosen) continue;
 			int tx = stepX(px, d, b), ty = stepY(py, d, b);
-			if (!passable(tx, ty, b, blockPowerTiles, ghosts, code)) continue;
+			if (!passable(tx, ty, b, blockPowerTiles)) continue;
 			if (!isRecentPos(tx, ty)) return d;
 		}
 		return chosen;
@@ -498,13 +464,13 @@ public class Ex3Algo implements PacManAlgo {
 	// ===================== MOVEMENT HELPERS =====================
 
 	/** Count legal neighboring cells (bigger = more open, less trap-prone). */
-	private int countExits(int x, int y, int[][] b, boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+	private int countExits(int x, int y, int[][] b, boolean blockPowerTiles) {
 		int exits = 0;
 		int[] dirs = {Game.UP, Game.LEFT, Game.DOWN, Game.RIGHT};
 		for (int d : dirs) {
 			int nx = stepX(x, d, b);
 			int ny = stepY(y, d, b);
-			if (passable(nx, ny, b, blockPowerTiles, ghosts, code)) exits++;
+			if (passable(nx, ny, b, blockPowerTiles)) exits++;
 		}
 		return exits;
 	}
@@ -513,24 +479,24 @@ public class Ex3Algo implements PacManAlgo {
 	 * Fallback when no smart choice exists.
 	 * Tries to keep direction, avoids immediate reverse if possible.
 	 */
-	private int anyLegalMove(int px, int py, int[][] b, boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+	private int anyLegalMove(int px, int py, int[][] b, boolean blockPowerTiles) {
 		int[] dirs = {Game.UP, Game.LEFT, Game.DOWN, Game.RIGHT};
 
 		if (lastDir != Game.STAY) {
 			int nx = stepX(px, lastDir, b), ny = stepY(py, lastDir, b);
-			if (passable(nx, ny, b, blockPowerTiles, ghosts, code)) return lastDir;
+			if (passable(nx, ny, b, blockPowerTiles)) return lastDir;
 		}
 
 		int rev = opposite(lastDir);
 		for (int d : dirs) {
 			if (d == rev) continue;
 			int nx = stepX(px, d, b), ny = stepY(py, d, b);
-			if (passable(nx, ny, b, blockPowerTiles, ghosts, code)) return d;
+			if (passable(nx, ny, b, blockPowerTiles)) return d;
 		}
 
 		for (int d : dirs) {
 			int nx = stepX(px, d, b), ny = stepY(py, d, b);
-			if (passable(nx, ny, b, blockPowerTiles, ghosts, code)) return d;
+			if (passable(nx, ny, b, blockPowerTiles)) return d;
 		}
 		return Game.STAY;
 	}
@@ -539,7 +505,7 @@ public class Ex3Algo implements PacManAlgo {
 	 * If stuck for several ticks, force a different legal direction (avoid "chosen" and avoid reverse if possible).
 	 */
 	private int forceDifferentLegal(int px, int py, int[][] b, int avoid,
-									boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+									boolean blockPowerTiles) {
 		int[] dirs = {Game.UP, Game.LEFT, Game.DOWN, Game.RIGHT};
 		int rev = opposite(lastDir);
 
@@ -547,12 +513,12 @@ public class Ex3Algo implements PacManAlgo {
 			if (d == avoid) continue;
 			if (d == rev) continue;
 			int nx = stepX(px, d, b), ny = stepY(py, d, b);
-			if (passable(nx, ny, b, blockPowerTiles, ghosts, code)) return d;
+			if (passable(nx, ny, b, blockPowerTiles)) return d;
 		}
 		for (int d : dirs) {
 			if (d == avoid) continue;
 			int nx = stepX(px, d, b), ny = stepY(py, d, b);
-			if (passable(nx, ny, b, blockPowerTiles, ghosts, code)) return d;
+			if (passable(nx, ny, b, blockPowerTiles)) return d;
 		}
 		return avoid;
 	}
@@ -561,7 +527,7 @@ public class Ex3Algo implements PacManAlgo {
 	 * Avoid immediate reverse direction if there is an alternative legal move.
 	 */
 	private int applyNoReverse(int px, int py, int[][] b, int chosen,
-							   boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+							   boolean blockPowerTiles) {
 		if (lastDir == Game.STAY) return chosen;
 
 		int rev = opposite(lastDir);
@@ -571,7 +537,7 @@ public class Ex3Algo implements PacManAlgo {
 		for (int d : dirs) {
 			if (d == rev) continue;
 			int nx = stepX(px, d, b), ny = stepY(py, d, b);
-			if (passable(nx, ny, b, blockPowerTiles, ghosts, code)) return d;
+			if (passable(nx, ny, b, blockPowerTiles)) return d;
 		}
 		return chosen;
 	}
@@ -587,27 +553,16 @@ public class Ex3Algo implements PacManAlgo {
 	/**
 	 * A cell is passable if it is not a wall, not a blocked POWER tile, and not occupied by a danger ghost.
 	 */
-	private boolean passable(int x, int y, int[][] b, boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+	private boolean passable(int x, int y, int[][] b, boolean blockPowerTiles) {
 		int wx = wrapX(x, b);
 		int wy = wrapY(y, b);
 
 		int v = b[wx][wy];
 		if (v == baseWallValue) return false;
 		if (blockPowerTiles && v == POWER) return false;
-		return !isNonEatableGhostAt(wx, wy, ghosts, code);
+		return !snap.isDangerAt(wx, wy);
 	}
 
-	/** @return true if a non-eatable (danger) ghost is exactly on (x,y). */
-	private boolean isNonEatableGhostAt(int x, int y, GhostCL[] ghosts, int code) {
-		if (ghosts == null) return false;
-		for (GhostCL g : ghosts) {
-			if (g == null) continue;
-			if (g.remainTimeAsEatable(code) > 0) continue;
-			int[] gp = parseXY(g.getPos(code));
-			if (gp[0] == x && gp[1] == y) return true;
-		}
-		return false;
-	}
 
 	// ===================== WALL DETECTION =====================
 
@@ -688,35 +643,26 @@ public class Ex3Algo implements PacManAlgo {
 		_inited = true;
 	}
 
-	/** Parse "x,y" string-like position object into int array {x,y}. */
-	private static int[] parseXY(Object posObj) {
-		String s = String.valueOf(posObj).trim();
-		int comma = s.indexOf(',');
-		if (comma < 0) return new int[]{0, 0};
-		try {
-			int x = Integer.parseInt(s.substring(0, comma).trim());
-			int y = Integer.parseInt(s.substring(comma + 1).trim());
-			return new int[]{x, y};
-		} catch (Exception e) {
-			return new int[]{0, 0};
-		}
-	}
-
-	private boolean isPowerMode(GhostCL[] ghosts, int code) {
-		if (ghosts == null) return false;
-		for (GhostCL g : ghosts) {
-			if (g == null) continue;
-			if (g.remainTimeAsEatable(code) > 0) return true;
-		}
-		return false;
-	}
-
+	/**
+	 * Checks whether any cell still holds targetValue.
+	 * The engine owns the board, so counts can't be tracked here; instead the last cell found is
+	 * remembered and re-checked first, making the common case O(1) and rescanning only once it was eaten.
+	 */
 	private boolean boardHasValue(int[][] b, int targetValue) {
+		int slot = (targetValue == DOT) ? 0 : 1;
+		int hx = foodHintX[slot], hy = foodHintY[slot];
+		if (hx >= 0 && hx < b.length && hy < b[0].length && b[hx][hy] == targetValue) return true;
+
 		for (int x = 0; x < b.length; x++) {
 			for (int y = 0; y < b[0].length; y++) {
-				if (b[x][y] == targetValue) return true;
+				if (b[x][y] == targetValue) {
+					foodHintX[slot] = x;
+					foodHintY[slot] = y;
+					return true;
+				}
 			}
 		}
+		foodHintX[slot] = -1;
 		return false;
 	}
 
@@ -765,12 +711,12 @@ public class Ex3Algo implements PacManAlgo {
 	/**
 	 * Simple "start moving" heuristic for the first few ticks, still obeying passable rules.
 	 */
-	private int openingMove(int px, int py, int[][] b, boolean blockPowerTiles, GhostCL[] ghosts, int code) {
+	private int openingMove(int px, int py, int[][] b, boolean blockPowerTiles) {
 		int rx = stepX(px, Game.RIGHT, b), ry = stepY(py, Game.RIGHT, b);
-		if (passable(rx, ry, b, blockPowerTiles, ghosts, code)) return Game.RIGHT;
+		if (passable(rx, ry, b, blockPowerTiles)) return Game.RIGHT;
 
 		int lx = stepX(px, Game.LEFT, b), ly = stepY(py, Game.LEFT, b);
-		if (passable(lx, ly, b, blockPowerTiles, ghosts, code)) return Game.LEFT;
+		if (passable(lx, ly, b, blockPowerTiles)) return Game.LEFT;
 
 		return Game.STAY;
 	}
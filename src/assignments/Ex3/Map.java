@@ -1,13 +1,21 @@
 package assignments.Ex3;
 
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Arrays;
 
+/**
+ * A 2D raster map backed by a single flat {@code int[]} (cell (x,y) lives at {@code x*h+y}).
+ *
+ * <p>The BFS based algorithms ({@link #fill}, {@link #shortestPath}, {@link #allDistance})
+ * run on flat cell indices and share one {@link BfsWorkspace} per map, so repeated calls
+ * allocate nothing beyond their mandatory results (the path array / the distance map).
+ * A map instance is therefore not safe for concurrent algorithm calls.
+ */
 public class Map implements Map2D {
-	private int[][] _map;
+	private int[] _data;
+	private int _w, _h;
 	private boolean _cyclicFlag = true;
+	private final BfsWorkspace _ws = new BfsWorkspace();
 
 	/**
 	 * Construct a 2D w*h matrix of integers.
@@ -38,8 +46,10 @@ public class Map implements Map2D {
 	@Override
 	public void init(int w, int h, int v) {
 		if (w <= 0 || h <= 0) throw new RuntimeException("Illegal size");
-		_map = new int[w][h];
-		for (int x = 0; x < w; x++) Arrays.fill(_map[x], v);
+		_w = w;
+		_h = h;
+		_data = new int[w * h];
+		Arrays.fill(_data, v);
 	}
 	/**
 	 * Constructs a 2D raster map from a given 2D int array (deep copy).
@@ -63,9 +73,11 @@ public class Map implements Map2D {
 				throw new RuntimeException("ragged array");
 		}
 
-		_map = new int[arr.length][h];
+		_w = arr.length;
+		_h = h;
+		_data = new int[_w * h];
 		for (int i = 0; i < arr.length; i++) {
-			System.arraycopy(arr[i], 0, _map[i], 0, h);
+			System.arraycopy(arr[i], 0, _data, i * h, h);
 		}
 	}
 	/**
@@ -76,22 +88,25 @@ public class Map implements Map2D {
 	public int[][] getMap() {
 		int w = getWidth(), h = getHeight();
 		int[][] copy = new int[w][h];
-		for (int x = 0; x < w; x++) System.arraycopy(_map[x], 0, copy[x], 0, h);
+		for (int x = 0; x < w; x++) System.arraycopy(_data, x * h, copy[x], 0, h);
 		return copy;
 	}
 	/**@return the width of this 2D map (first coordinate).*/
 	@Override
-	public int getWidth() {return _map.length;}
+	public int getWidth() {return _w;}
 	/**@return the height of this 2D map (second coordinate).*/
 	@Override
-	public int getHeight() {return _map[0].length;}
+	public int getHeight() {return _h;}
 	/**
 	 * @param x the x coordinate
 	 * @param y the y coordinate
 	 * @return the [x][y] (int) value of the map[x][y].
 	 */
 	@Override
-	public int getPixel(int x, int y) { return _map[x][y]; }
+	public int getPixel(int x, int y) {
+		if (x < 0 || y < 0 || x >= _w || y >= _h) throw new ArrayIndexOutOfBoundsException("(" + x + "," + y + ")");
+		return _data[x * _h + y];
+	}
 	/**
 	 * @param p the x,y coordinate
 	 * @return the [p.x][p.y] (int) value of the map.
@@ -107,7 +122,10 @@ public class Map implements Map2D {
 	 * @param v the value that the entry at the coordinate [x][y] is set to.
 	 */
 	@Override
-	public void setPixel(int x, int y, int v) { _map[x][y] = v;}
+	public void setPixel(int x, int y, int v) {
+		if (x < 0 || y < 0 || x >= _w || y >= _h) throw new ArrayIndexOutOfBoundsException("(" + x + "," + y + ")");
+		_data[x * _h + y] = v;
+	}
 	/**
 	 * Set the [x][y] coordinate of the map to v.
 	 * @param p the coordinate in the map.
@@ -139,25 +157,25 @@ public class Map implements Map2D {
 	@Override
 	public void setCyclic(boolean cy){ _cyclicFlag = cy; }
 	///////////////// Internal functions //////////////////
-	private int[][] neighbors4(int x, int y) {
-		return new int[][]{
-				{x, y + 1}, // UP
-				{x - 1, y}, // LEFT
-				{x, y - 1}, // DOWN
-				{x + 1, y}  // RIGHT
-		};
-	}
-	private int wrapX(int x) {
-		int w = getWidth();
-		x %= w;
-		if (x < 0) x += w;
-		return x;
-	}
-	private int wrapY(int y) {
-		int h = getHeight();
-		y %= h;
-		if (y < 0) y += h;
-		return y;
+	/**
+	 * Computes the flat index of the neighbor of cell (x,y) in direction k
+	 * (0=UP, 1=LEFT, 2=DOWN, 3=RIGHT), honoring the cyclic flag.
+	 * @return the neighbor's cell index, or -1 if it falls outside a non-cyclic map.
+	 */
+	private int neighbor(int x, int y, int k) {
+		int nx = x, ny = y;
+		switch (k) {
+			case 0 -> ny++;
+			case 1 -> nx--;
+			case 2 -> ny--;
+			default -> nx++;
+		}
+		if (_cyclicFlag) {
+			if (nx < 0) nx = _w - 1; else if (nx >= _w) nx = 0;
+			if (ny < 0) ny = _h - 1; else if (ny >= _h) ny = 0;
+		}
+		else if (nx < 0 || ny < 0 || nx >= _w || ny >= _h) return -1;
+		return nx * _h + ny;
 	}
 	///////////////// Algorithms //////////////////
 	@Override
@@ -168,32 +186,27 @@ public class Map implements Map2D {
 		int old = getPixel(xy);
 		if (old == new_v) return 0;
 
-		int w = getWidth(), h = getHeight();
-		boolean[][] vis = new boolean[w][h];
-		ArrayDeque<Index2D> q = new ArrayDeque<>();
+		int[] data = _data;
+		int h = _h;
+		BfsWorkspace ws = _ws;
+		ws.begin(data.length);
 
-		q.add(new Index2D(xy));
-		vis[xy.getX()][xy.getY()] = true;
+		int s = xy.getX() * h + xy.getY();
+		ws.visit(s, -1);
+		ws.push(s);
 
 		int count = 0;
-		while (!q.isEmpty()) {
-			Index2D p = q.removeFirst();
-			int x = p.getX(), y = p.getY();
-
-			if (getPixel(x, y) != old) continue;
-			setPixel(x, y, new_v);
+		while (!ws.isEmpty()) {
+			int c = ws.poll();
+			data[c] = new_v;
 			count++;
 
-			for (int[] nb : neighbors4(x, y)) {
-				int nx = nb[0], ny = nb[1];
-
-				if (isCyclic()) { nx = wrapX(nx); ny = wrapY(ny); }
-				if (nx < 0 || ny < 0 || nx >= w || ny >= h) continue;
-
-				if (!vis[nx][ny]) {
-					vis[nx][ny] = true;
-					q.add(new Index2D(nx, ny));
-				}
+			int x = c / h, y = c % h;
+			for (int k = 0; k < 4; k++) {
+				int n = neighbor(x, y, k);
+				if (n < 0 || ws.isVisited(n) || data[n] != old) continue;
+				ws.visit(n, c);
+				ws.push(n);
 			}
 		}
 		return count;
@@ -204,48 +217,39 @@ public class Map implements Map2D {
 		if (!isInside(p1) || !isInside(p2)) return null;
 		if (getPixel(p1) == obsColor || getPixel(p2) == obsColor) return null;
 
-		int w = getWidth(), h = getHeight();
-		boolean[][] vis = new boolean[w][h];
-		Index2D[][] parent = new Index2D[w][h];
-
-		ArrayDeque<Index2D> q = new ArrayDeque<>();
-		q.add(new Index2D(p1));
-		vis[p1.getX()][p1.getY()] = true;
-
-		while (!q.isEmpty()) {
-			Index2D p = q.removeFirst();
-			int x = p.getX(), y = p.getY();
-
-			if (x == p2.getX() && y == p2.getY()) break;
-
-			for (int[] nb : neighbors4(x, y)) {
-				int nx = nb[0], ny = nb[1];
-
-				if (isCyclic()) { nx = wrapX(nx); ny = wrapY(ny); }
-				if (nx < 0 || ny < 0 || nx >= w || ny >= h) continue;
-
-				if (vis[nx][ny]) continue;
-				if (getPixel(nx, ny) == obsColor) continue;
-
-				vis[nx][ny] = true;
-				parent[nx][ny] = new Index2D(x, y);
-				q.add(new Index2D(nx, ny));
+		int[] data = _data;
+		int h = _h;
+		BfsWorkspace ws = _ws;
+		ws.begin(data.length);
+
+		int s = p1.getX() * h + p1.getY();
+		int t = p2.getX() * h + p2.getY();
+		ws.visit(s, -1);
+		ws.push(s);
+
+		while (!ws.isEmpty()) {
+			int c = ws.poll();
+			if (c == t) break;
+
+			int x = c / h, y = c % h;
+			for (int k = 0; k < 4; k++) {
+				int n = neighbor(x, y, k);
+				if (n < 0 || ws.isVisited(n) || data[n] == obsColor) continue;
+				ws.visit(n, c);
+				ws.push(n);
 			}
 		}
 
-		if (!vis[p2.getX()][p2.getY()]) return null;
+		if (!ws.isVisited(t)) return null;
 
-		ArrayList<Pixel2D> rev = new ArrayList<>();
-		Index2D cur = new Index2D(p2);
-		while (cur != null) {
-			rev.add(cur);
-			if (cur.equals(p1)) break;
-			cur = parent[cur.getX()][cur.getY()];
-		}
+		int len = 1;
+		for (int c = t; c != s; c = ws.parentOf(c)) len++;
 
-		Pixel2D[] path = new Pixel2D[rev.size()];
-		for (int i = 0; i < rev.size(); i++) {
-			path[i] = rev.get(rev.size() - 1 - i);
+		Pixel2D[] path = new Pixel2D[len];
+		int c = t;
+		for (int i = len - 1; i >= 0; i--) {
+			path[i] = new Index2D(c / h, c % h);
+			c = ws.parentOf(c);
 		}
 		return path;
 	}
@@ -260,26 +264,25 @@ public class Map implements Map2D {
 		if (!isInside(start)) return dist;
 		if (getPixel(start) == obsColor) return dist;
 
-		ArrayDeque<Index2D> q = new ArrayDeque<>();
-		dist.setPixel(start, 0);
-		q.add(new Index2D(start));
-
-		while (!q.isEmpty()) {
-			Index2D p = q.removeFirst();
-			int x = p.getX(), y = p.getY();
-			int d = dist.getPixel(x, y);
-
-			for (int[] nb : neighbors4(x, y)) {
-				int nx = nb[0], ny = nb[1];
-
-				if (isCyclic()) { nx = wrapX(nx); ny = wrapY(ny); }
-				if (nx < 0 || ny < 0 || nx >= w || ny >= h) continue;
-
-				if (getPixel(nx, ny) == obsColor) continue;
-				if (dist.getPixel(nx, ny) != -1) continue;
-
-				dist.setPixel(nx, ny, d + 1);
-				q.add(new Index2D(nx, ny));
+		int[] data = _data;
+		int[] out = dist._data;
+		BfsWorkspace ws = _ws;
+		ws.begin(data.length);
+
+		int s = start.getX() * h + start.getY();
+		out[s] = 0;
+		ws.push(s);
+
+		while (!ws.isEmpty()) {
+			int c = ws.poll();
+			int d = out[c] + 1;
+
+			int x = c / h, y = c % h;
+			for (int k = 0; k < 4; k++) {
+				int n = neighbor(x, y, k);
+				if (n < 0 || data[n] == obsColor || out[n] != -1) continue;
+				out[n] = d;
+				ws.push(n);
 			}
 		}
 		return dist;
@@ -0,0 +1,129 @@
+package assignments.Ex3;
+
+import java.util.Arrays;
+
+/**
+ * Distance from every cell of the board to the nearest danger source, computed by one multi-source BFS.
+ *
+ * <p>Instead of one BFS per (candidate cell, ghost) pair, all sources (the non-eatable ghosts) are
+ * seeded into the queue at distance 0 and the search expands from all of them at once. After
+ * {@link #propagate()} every query is a single array read:
+ * <ul>
+ *   <li><b>{@link #begin}</b>: size the field for the board and install the passability filter</li>
+ *   <li><b>{@link #addSource}</b>: seed a ghost cell</li>
+ *   <li><b>{@link #propagate}</b>: run the BFS (O(cells))</li>
+ *   <li><b>{@link #dist}</b>: read the distance of a cell</li>
+ * </ul>
+ *
+ * <p>A blocked cell (per the filter) is never expanded, but it still receives a distance when a
+ * neighbor reaches it. This matches a point-to-point BFS from that cell to a ghost, where the start
+ * cell itself is never checked. Sources on blocked cells are ignored.
+ *
+ * <p>Buffers are reused across ticks, so a field allocates only when the board grows.
+ * A field is not thread-safe; keep one per algorithm instance.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see BfsWorkspace
+ */
+public final class ThreatField {
+
+    /** Passability of a cell for the threat search. */
+    @FunctionalInterface
+    public interface CellFilter {
+        /** @return {@code true} if the search may pass through (x,y) */
+        boolean passable(int x, int y);
+    }
+
+    /** Distance reported for cells no source can reach. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private int w, h;
+    private boolean cyclic;
+    private CellFilter filter;
+
+    private int[] dist = new int[0];
+    private int[] queue = new int[0];
+    private int tail;
+
+    /**
+     * Starts a new field: every cell becomes {@link #UNREACHABLE} and no source is set.
+     *
+     * @param w board width
+     * @param h board height
+     * @param cyclic {@code true} if moves wrap around the board edges
+     * @param filter passability of a cell (walls, blocked tiles)
+     * @throws IllegalArgumentException if the size is not positive or filter is null
+     */
+    public void begin(int w, int h, boolean cyclic, CellFilter filter) {
+        if (w <= 0 || h <= 0) throw new IllegalArgumentException("board size must be positive");
+        if (filter == null) throw new IllegalArgumentException("filter is null");
+
+        this.w = w;
+        this.h = h;
+        this.cyclic = cyclic;
+        this.filter = filter;
+
+        int cells = w * h;
+        if (dist.length < cells) {
+            dist = new int[cells];
+            queue = new int[cells];
+        }
+        Arrays.fill(dist, 0, cells, UNREACHABLE);
+        tail = 0;
+    }
+
+    /**
+     * Seeds a source at distance 0. Out-of-bounds, blocked and duplicate sources are ignored.
+     *
+     * @param x source x-coordinate
+     * @param y source y-coordinate
+     */
+    public void addSource(int x, int y) {
+        if (x < 0 || y < 0 || x >= w || y >= h) return;
+        int c = x * h + y;
+        if (dist[c] == 0 || !filter.passable(x, y)) return;
+        dist[c] = 0;
+        queue[tail++] = c;
+    }
+
+    /** Runs the BFS from all sources seeded since {@link #begin}. */
+    public void propagate() {
+        int head = 0;
+        while (head < tail) {
+            int c = queue[head++];
+            int x = c / h, y = c % h;
+            int nd = dist[c] + 1;
+
+            for (int k = 0; k < 4; k++) {
+                int nx = x, ny = y;
+                switch (k) {
+                    case 0 -> ny++;
+                    case 1 -> nx--;
+                    case 2 -> ny--;
+                    default -> nx++;
+                }
+                if (cyclic) {
+                    if (nx < 0) nx = w - 1; else if (nx >= w) nx = 0;
+                    if (ny < 0) ny = h - 1; else if (ny >= h) ny = 0;
+                }
+                else if (nx < 0 || ny < 0 || nx >= w || ny >= h) continue;
+
+                int n = nx * h + ny;
+                if (dist[n] != UNREACHABLE) continue;
+                dist[n] = nd;
+                if (filter.passable(nx, ny)) queue[tail++] = n;
+            }
+        }
+    }
+
+    /**
+     * @return the number of steps from (x,y) to the nearest source, or {@link #UNREACHABLE}
+     *         if no source reaches it or the cell is out of bounds
+     */
+    public int dist(int x, int y) {
+        if (x < 0 || y < 0 || x >= w || y >= h) return UNREACHABLE;
+        return dist[x * h + y];
+    }
+}
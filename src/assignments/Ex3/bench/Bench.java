@@ -0,0 +1,119 @@
+package assignments.Ex3.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Minimal benchmark harness (warm-up, timed measurement, per-op latency distribution, allocation rate).
+ *
+ * <p>Each benchmark is an {@link Op} invoked repeatedly on the calling thread:
+ * <ol>
+ *   <li><b>Warm-up:</b> the op runs for {@code warmupMs} so the JIT compiles the hot path</li>
+ *   <li><b>Measurement:</b> the op runs for {@code measureMs}; every invocation is timed with
+ *       {@link System#nanoTime()} and the thread's allocated bytes are sampled before/after</li>
+ * </ol>
+ * The value returned by each op is folded into a sink so the JIT cannot drop the work.
+ *
+ * <p>This harness is intentionally dependency-free so benchmarks run from the plain source tree.
+ * It is precise enough for operations in the microsecond range and above.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ */
+public final class Bench {
+
+    /** A benchmarked operation. The result is consumed by the harness. */
+    public interface Op {
+        Object run();
+    }
+
+    /**
+     * Summary of one benchmark.
+     *
+     * @param name the benchmark name
+     * @param ops the number of measured invocations
+     * @param avgNs the mean latency per invocation
+     * @param p50Ns the median latency
+     * @param p99Ns the 99th percentile latency
+     * @param bytesPerOp the mean allocated bytes per invocation ({@code NaN} if the JVM cannot report it)
+     */
+    public record Result(String name, long ops, double avgNs, long p50Ns, long p99Ns, double bytesPerOp) {
+        @Override
+        public String toString() {
+            return String.format("%-48s %10d ops  avg %12.1f ns  p50 %10d ns  p99 %10d ns  %12.1f B/op",
+                    name, ops, avgNs, p50Ns, p99Ns, bytesPerOp);
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private static int sink;
+
+    private Bench() {}
+
+    /**
+     * Runs one benchmark.
+     *
+     * @param name the benchmark name (used in the result)
+     * @param op the operation to measure
+     * @param warmupMs the warm-up duration in milliseconds
+     * @param measureMs the measurement duration in milliseconds
+     * @return the measured result (at least one invocation is always measured)
+     */
+    public static Result measure(String name, Op op, int warmupMs, int measureMs) {
+        long end = System.nanoTime() + warmupMs * 1_000_000L;
+        while (System.nanoTime() < end) consume(op.run());
+
+        long[] samples = new long[1024];
+        int n = 0;
+        long tid = Thread.currentThread().getId();
+        long bytes0 = allocatedBytes(tid);
+
+        end = System.nanoTime() + measureMs * 1_000_000L;
+        do {
+            long t0 = System.nanoTime();
+            Object r = op.run();
+            long t1 = System.nanoTime();
+            consume(r);
+            if (n == samples.length) samples = Arrays.copyOf(samples, n * 2);
+            samples[n++] = t1 - t0;
+        } while (System.nanoTime() < end);
+
+        long bytes1 = allocatedBytes(tid);
+        double bytesPerOp = (bytes0 < 0 || bytes1 < 0) ? Double.NaN : (double) (bytes1 - bytes0) / n;
+
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (long v : sorted) sum += v;
+
+        return new Result(name, n, (double) sum / n, percentile(sorted, 50), percentile(sorted, 99), bytesPerOp);
+    }
+
+    /** @return the value at percentile {@code p} (nearest rank) of a sorted, non-empty array. */
+    static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static void consume(Object o) {
+        if (o != null) sink += o.hashCode();
+    }
+
+    private static long allocatedBytes(long tid) {
+        if (THREADS == null) return -1;
+        return THREADS.getThreadAllocatedBytes(tid);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t
+                    && t.isThreadAllocatedMemorySupported()) {
+                t.setThreadAllocatedMemoryEnabled(true);
+                return t;
+            }
+        } catch (RuntimeException ignored) {}
+        return null;
+    }
+}
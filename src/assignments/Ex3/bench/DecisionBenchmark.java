@@ -0,0 +1,194 @@
+package assignments.Ex3.bench;
+
+import assignments.Ex3.Ex3Algo;
+import assignments.Ex3.levels.LevelLoader;
+import assignments.Ex3.model.*;
+import assignments.Ex3.server.ServerEx3Algo;
+import exe.ex3.game.Game;
+import exe.ex3.game.GhostCL;
+import exe.ex3.game.PacmanGame;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks the per-tick decision latency of {@link ServerEx3Algo#nextMove(GameState)} and
+ * {@link Ex3Algo#move(PacmanGame)}.
+ *
+ * <p>For each shipped level a seeded AI game is played and a state is recorded every few ticks.
+ * The recorded states are then replayed through both algorithms in these variants:
+ * <ul>
+ *   <li><b>ghosts:</b> none, the level's own ghosts, twice as many (extras on random free cells)</li>
+ *   <li><b>power:</b> off / on (all ghosts eatable)</li>
+ * </ul>
+ * The client algorithm sees each state through a read-only {@link PacmanGame} view whose board is
+ * encoded with the course colors. Both algorithms are advanced past their opening phase before
+ * measuring, so the full decision pipeline is timed.
+ *
+ * <p>Usage: {@code DecisionBenchmark [warmupMs] [measureMs]} (defaults {@code 300 1000}).
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Bench
+ */
+public class DecisionBenchmark {
+
+    private static final long SEED = 31;
+    private static final int SAMPLES = 64;
+    private static final int STRIDE = 3;
+    private static final int WARM_TICKS = 60;
+
+    public static void main(String[] args) {
+        int warmupMs = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int measureMs = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        List<Supplier<GameState>> levels = List.of(LevelLoader::level0, LevelLoader::level1, LevelLoader::level2);
+        for (int lvl = 0; lvl < levels.size(); lvl++) {
+            List<GameState> recorded = record(levels.get(lvl).get());
+            int baseGhosts = levels.get(lvl).get().getGhosts().size();
+
+            for (int ghosts : new int[]{0, baseGhosts, baseGhosts * 2}) {
+                for (boolean power : new boolean[]{false, true}) {
+                    List<GameState> states = new ArrayList<>(recorded.size());
+                    Random rnd = new Random(SEED);
+                    for (GameState st : recorded) states.add(copy(st, ghosts, power, rnd));
+
+                    String tag = String.format("level%d ghosts=%d power=%s", lvl, ghosts, power ? "on" : "off");
+                    System.out.println(benchServer(tag, states, warmupMs, measureMs));
+                    System.out.println(benchClient(tag, states, warmupMs, measureMs));
+                }
+            }
+        }
+    }
+
+    private static Bench.Result benchServer(String tag, List<GameState> states, int warmupMs, int measureMs) {
+        ServerEx3Algo algo = new ServerEx3Algo();
+        for (int i = 0; i < WARM_TICKS; i++) algo.nextMove(states.get(i % states.size()));
+
+        int[] i = {0};
+        return Bench.measure("ServerEx3Algo " + tag,
+                () -> algo.nextMove(states.get(i[0]++ % states.size())), warmupMs, measureMs);
+    }
+
+    private static Bench.Result benchClient(String tag, List<GameState> states, int warmupMs, int measureMs) {
+        List<StateView> views = new ArrayList<>(states.size());
+        for (GameState st : states) views.add(new StateView(st));
+
+        Ex3Algo algo = new Ex3Algo();
+        for (int i = 0; i < WARM_TICKS; i++) algo.move(views.get(i % views.size()));
+
+        int[] i = {0};
+        return Bench.measure("Ex3Algo       " + tag,
+                () -> algo.move(views.get(i[0]++ % views.size())), warmupMs, measureMs);
+    }
+
+    // ===================== RECORDING =====================
+
+    /** Plays a seeded AI game and keeps a copy of every {@link #STRIDE}-th state. */
+    private static List<GameState> record(GameState s) {
+        ServerEx3Algo algo = new ServerEx3Algo();
+        GhostMovement gm = new GhostMovement(SEED);
+        CollisionSystem cs = new CollisionSystem();
+
+        List<GameState> out = new ArrayList<>(SAMPLES);
+        for (int tick = 0; !s.done && out.size() < SAMPLES; tick++) {
+            if (tick % STRIDE == 0) out.add(s.copy());
+
+            s.pacDir = algo.nextMove(s);
+            cs.beginTick(s);
+            GameRules.stepPacman(s, s.pacDir);
+            GameRules.moveGhosts(s, gm);
+            cs.resolve(s);
+            if (s.done) break;
+            s.tickPower();
+            if (!GameRules.hasDotsLeft(s)) s.done = true;
+        }
+        return out;
+    }
+
+    /**
+     * Copies a recorded state ({@link GameState#copy()}) and adjusts it to a variant: ghosts are
+     * trimmed to {@code ghosts}, or extra ones are added on random free cells (requires {@code rnd}).
+     * Power on keeps a recorded power timer or starts a half-length one; power off runs it down.
+     */
+    private static GameState copy(GameState s, int ghosts, boolean power, Random rnd) {
+        GameState c = s.copy();
+        if (ghosts < c.getGhostCount()) c.truncateGhosts(ghosts);
+        while (c.getGhostCount() < ghosts) {
+            int x, y;
+            do {
+                x = rnd.nextInt(s.w);
+                y = rnd.nextInt(s.h);
+            } while (c.isWall(x, y));
+            Ghost g = new Ghost(x, y);
+            g.setEatable(c.isPowerMode());
+            c.addGhost(g);
+        }
+
+        if (!power) {
+            while (c.isPowerMode()) c.tickPower();
+        }
+        else if (!c.isPowerMode()) {
+            c.activatePower(GameRules.POWER_TICKS / 2);
+        }
+        return c;
+    }
+
+    // ===================== CLIENT VIEW =====================
+
+    /** Read-only course-API view of a {@link GameState}, built once so replay measures only the decision. */
+    private static final class StateView implements PacmanGame {
+        private static final int WALL = Game.getIntColor(Color.BLUE, 0);
+        private static final int DOT = Game.getIntColor(Color.PINK, 0);
+        private static final int POWER = Game.getIntColor(Color.GREEN, 0);
+
+        private final int[][] board;
+        private final String pos;
+        private final GhostCL[] ghosts;
+
+        StateView(GameState s) {
+            board = new int[s.w][s.h];
+            for (int x = 0; x < s.w; x++) {
+                for (int y = 0; y < s.h; y++) {
+                    board[x][y] = switch (s.grid[x][y]) {
+                        case WALL -> WALL;
+                        case DOT -> DOT;
+                        case POWER -> POWER;
+                        default -> 0;
+                    };
+                }
+            }
+            pos = s.pacX + "," + s.pacY;
+
+            List<Ghost> gs = s.getGhosts();
+            ghosts = new GhostCL[gs.size()];
+            for (int i = 0; i < gs.size(); i++) {
+                ghosts[i] = new GhostView(gs.get(i).x() + "," + gs.get(i).y(), gs.get(i).isEatable() ? 40 : 0);
+            }
+        }
+
+        @Override public int[][] getGame(int code) { return board; }
+        @Override public String getPos(int code) { return pos; }
+        @Override public GhostCL[] getGhosts(int code) { return ghosts; }
+        @Override public Character getKeyChar() { return null; }
+        @Override public String move(int dir) { return ""; }
+        @Override public void play() {}
+        @Override public String end(int code) { return ""; }
+        @Override public String getData(int code) { return ""; }
+        @Override public int getStatus() { return PLAY; }
+        @Override public boolean isCyclic() { return false; }
+        @Override public String init(int a, String b, boolean c, long d, double e, int f, int g) { return ""; }
+    }
+
+    private record GhostView(String pos, double eatable) implements GhostCL {
+        @Override public int getType() { return GREEDY_SP; }
+        @Override public String getPos(int code) { return pos; }
+        @Override public String getInfo() { return ""; }
+        @Override public double remainTimeAsEatable(int code) { return eatable; }
+        @Override public int getStatus() { return PLAY; }
+    }
+}
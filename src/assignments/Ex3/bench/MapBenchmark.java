@@ -0,0 +1,83 @@
+package assignments.Ex3.bench;
+
+import assignments.Ex3.Index2D;
+import assignments.Ex3.Map;
+import assignments.Ex3.Map2D;
+import assignments.Ex3.Pixel2D;
+
+import java.util.function.Function;
+
+/**
+ * Benchmarks {@link Map2D#fill}, {@link Map2D#shortestPath} and {@link Map2D#allDistance}.
+ *
+ * <p>Matrix: map size x generator (open / maze / dense obstacles) x cyclic flag x backend.
+ * The backends are the current flat {@link Map} and the original {@code int[][]} {@link ArrayMap}
+ * baseline, so a regression or an improvement of a grid backend shows up side by side.
+ *
+ * <p>Usage: {@code MapBenchmark [sizes] [warmupMs] [measureMs]}, e.g.
+ * {@code MapBenchmark 20,256,4096 500 2000}. Defaults: {@code 20,64,256,1024,4096 300 1000}.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Bench
+ * @see MapGenerators
+ */
+public class MapBenchmark {
+
+    private static final long SEED = 31;
+
+    public static void main(String[] args) {
+        String sizes = args.length > 0 ? args[0] : "20,64,256,1024,4096";
+        int warmupMs = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int measureMs = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+        for (String sz : sizes.split(",")) {
+            int n = Integer.parseInt(sz.trim());
+            run("open", MapGenerators.open(n, n), warmupMs, measureMs);
+            run("maze", MapGenerators.maze(n, n, SEED), warmupMs, measureMs);
+            run("dense", MapGenerators.obstacles(n, n, 0.35, SEED), warmupMs, measureMs);
+        }
+    }
+
+    private static void run(String gen, int[][] raster, int warmupMs, int measureMs) {
+        for (boolean cyclic : new boolean[]{false, true}) {
+            bench("Map", Map::new, gen, raster, cyclic, warmupMs, measureMs);
+            bench("ArrayMap", ArrayMap::new, gen, raster, cyclic, warmupMs, measureMs);
+        }
+    }
+
+    private static void bench(String backend, Function<int[][], Map2D> factory, String gen, int[][] raster,
+                              boolean cyclic, int warmupMs, int measureMs) {
+        Map2D m = factory.apply(raster);
+        m.setCyclic(cyclic);
+
+        Pixel2D src = new Index2D(1 % m.getWidth(), 1 % m.getHeight());
+        Pixel2D dst = farthestFree(m);
+        String tag = String.format("%s %dx%d %s %s", backend, m.getWidth(), m.getHeight(), gen, cyclic ? "cyclic" : "flat");
+
+        System.out.println(Bench.measure(tag + " allDistance",
+                () -> m.allDistance(src, MapGenerators.OBSTACLE), warmupMs, measureMs));
+        System.out.println(Bench.measure(tag + " shortestPath",
+                () -> m.shortestPath(src, dst, MapGenerators.OBSTACLE), warmupMs, measureMs));
+
+        // fill alternates between two colors so every call repaints the whole component
+        int[] color = {MapGenerators.FREE};
+        System.out.println(Bench.measure(tag + " fill", () -> {
+            int next = color[0] == MapGenerators.FREE ? 2 : MapGenerators.FREE;
+            color[0] = next;
+            return m.fill(src, next);
+        }, warmupMs, measureMs));
+    }
+
+    /** @return the free cell closest to the corner opposite (1,1), as a far shortest-path target. */
+    private static Pixel2D farthestFree(Map2D m) {
+        for (int s = m.getWidth() + m.getHeight(); s >= 0; s--) {
+            for (int x = m.getWidth() - 1; x >= 0; x--) {
+                int y = s - x;
+                if (y >= 0 && y < m.getHeight() && m.getPixel(x, y) == MapGenerators.FREE) return new Index2D(x, y);
+            }
+        }
+        return new Index2D(0, 0);
+    }
+}
@@ -0,0 +1,108 @@
+package assignments.Ex3.bench;
+
+import java.util.Random;
+
+/**
+ * Seeded raster generators for benchmarking {@link assignments.Ex3.Map2D} algorithms.
+ *
+ * <p>All generators return a {@code [w][h]} array using {@link #FREE} for open cells and
+ * {@link #OBSTACLE} for blocked cells. Cell (1,1) is always free so it can serve as a BFS source.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MapGenerators {
+
+    /** Value of an open cell. */
+    public static final int FREE = 0;
+
+    /** Value of a blocked cell. */
+    public static final int OBSTACLE = 1;
+
+    private MapGenerators() {}
+
+    /**
+     * @param w width
+     * @param h height
+     * @return a map with no obstacles
+     */
+    public static int[][] open(int w, int h) {
+        return new int[w][h];
+    }
+
+    /**
+     * Random obstacles with the given density.
+     *
+     * @param w width
+     * @param h height
+     * @param density probability of a cell being an obstacle, in [0,1]
+     * @param seed random seed
+     * @return the generated map
+     */
+    public static int[][] obstacles(int w, int h, double density, long seed) {
+        Random rnd = new Random(seed);
+        int[][] m = new int[w][h];
+        for (int x = 0; x < w; x++) {
+            for (int y = 0; y < h; y++) m[x][y] = rnd.nextDouble() < density ? OBSTACLE : FREE;
+        }
+        m[1 % w][1 % h] = FREE;
+        return m;
+    }
+
+    /**
+     * A perfect maze (exactly one path between any two corridor cells), carved by an
+     * iterative randomized depth-first search on the odd coordinates. Long, winding
+     * corridors make this the worst case for BFS frontier growth.
+     *
+     * @param w width
+     * @param h height
+     * @param seed random seed
+     * @return the generated map
+     */
+    public static int[][] maze(int w, int h, long seed) {
+        Random rnd = new Random(seed);
+        int[][] m = new int[w][h];
+        for (int[] col : m) java.util.Arrays.fill(col, OBSTACLE);
+
+        int cw = Math.max(1, (w - 1) / 2), ch = Math.max(1, (h - 1) / 2);
+        int[] stack = new int[cw * ch];
+        boolean[] seen = new boolean[cw * ch];
+        int[] dirs = new int[4];
+        int sp = 0;
+
+        stack[sp++] = 0;
+        seen[0] = true;
+        carve(m, 1, 1);
+
+        while (sp > 0) {
+            int c = stack[sp - 1];
+            int cx = c / ch, cy = c % ch;
+
+            int k = 0;
+            if (cy + 1 < ch && !seen[c + 1]) dirs[k++] = 0;
+            if (cx > 0 && !seen[c - ch]) dirs[k++] = 1;
+            if (cy > 0 && !seen[c - 1]) dirs[k++] = 2;
+            if (cx + 1 < cw && !seen[c + ch]) dirs[k++] = 3;
+            if (k == 0) {
+                sp--;
+                continue;
+            }
+
+            int d = dirs[rnd.nextInt(k)];
+            int nx = cx + (d == 1 ? -1 : d == 3 ? 1 : 0);
+            int ny = cy + (d == 2 ? -1 : d == 0 ? 1 : 0);
+            int n = nx * ch + ny;
+
+            carve(m, cx + nx + 1, cy + ny + 1); // wall between the two cells
+            carve(m, 2 * nx + 1, 2 * ny + 1);
+            seen[n] = true;
+            stack[sp++] = n;
+        }
+        return m;
+    }
+
+    private static void carve(int[][] m, int x, int y) {
+        if (x < m.length && y < m[0].length) m[x][y] = FREE;
+    }
+}
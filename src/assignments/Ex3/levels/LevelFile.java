@@ -0,0 +1,283 @@
+package assignments.Ex3.levels;
+
+import assignments.Ex3.model.GameState;
+import assignments.Ex3.model.Ghost;
+import assignments.Ex3.model.Tile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes levels as files, so mazes can be added without recompiling.
+ *
+ * <p>Two formats are supported; {@link #load(Path)} tells them apart by the magic bytes:
+ * <ul>
+ *   <li><b>Binary ({@value #BINARY_EXT}):</b> magic {@code "PML"} + version byte, then big-endian
+ *       {@code u16} width, height, Pac-Man x, Pac-Man y (game coordinates), then one 4-bit
+ *       {@link LevelLoader} cell code per cell (high nibble first), row by row from the top row.</li>
+ *   <li><b>Text ({@value #TEXT_EXT}):</b> one line per row, top row first:
+ *       {@code '#'} wall, {@code '.'} dot, {@code 'o'} power, {@code 'G'} ghost, {@code 'P'} Pac-Man
+ *       (on an empty cell), space for empty. Short lines are padded with empty cells. Lines starting
+ *       with {@code ';'} are comments, and a {@code "pacman x y"} line (game coordinates) may replace
+ *       the {@code 'P'} cell when Pac-Man starts on a pickup.</li>
+ * </ul>
+ *
+ * <p>Files are memory-mapped and decoded straight into a {@link GameState} through
+ * {@link LevelLoader#fromMatrix}, so a file level behaves exactly like the built-in ones.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see LevelLoader
+ * @see LevelRegistry
+ */
+public final class LevelFile {
+
+    /** File extension of binary levels. */
+    public static final String BINARY_EXT = ".pml";
+
+    /** File extension of text levels. */
+    public static final String TEXT_EXT = ".txt";
+
+    private static final byte[] MAGIC = {'P', 'M', 'L'};
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+
+    private LevelFile() {}
+
+    // ===================== READING =====================
+
+    /**
+     * Memory-maps a level file and builds a fresh game state from it.
+     *
+     * @param file a binary or text level
+     * @return the new game state
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid level
+     */
+    public static GameState load(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return parse(buf);
+        }
+    }
+
+    /**
+     * Builds a game state from level bytes (binary or text).
+     *
+     * @param buf the level bytes, from position to limit
+     * @return the new game state
+     * @throws IllegalArgumentException if the bytes are not a valid level
+     */
+    public static GameState parse(ByteBuffer buf) {
+        if (buf == null || !buf.hasRemaining()) throw new IllegalArgumentException("level is empty");
+        return isBinary(buf) ? parseBinary(buf.slice()) : parseText(buf.slice());
+    }
+
+    private static boolean isBinary(ByteBuffer buf) {
+        if (buf.remaining() < MAGIC.length) return false;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buf.get(buf.position() + i) != MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    private static GameState parseBinary(ByteBuffer buf) {
+        if (buf.remaining() < HEADER_BYTES) throw new IllegalArgumentException("binary level: truncated header");
+        buf.position(MAGIC.length);
+        int version = buf.get();
+        if (version != VERSION) throw new IllegalArgumentException("binary level: unsupported version " + version);
+
+        int w = Short.toUnsignedInt(buf.getShort());
+        int h = Short.toUnsignedInt(buf.getShort());
+        int pacX = Short.toUnsignedInt(buf.getShort());
+        int pacY = Short.toUnsignedInt(buf.getShort());
+        if (w == 0 || h == 0) throw new IllegalArgumentException("binary level: empty size");
+
+        long cells = (long) w * h;
+        if (buf.remaining() < (cells + 1) / 2) throw new IllegalArgumentException("binary level: truncated cells");
+
+        int[][] m = new int[h][w];
+        int i = 0, b = 0;
+        for (int row = 0; row < h; row++) {
+            for (int col = 0; col < w; col++, i++) {
+                if ((i & 1) == 0) b = buf.get();
+                int code = ((i & 1) == 0) ? (b >>> 4) & 0xF : b & 0xF;
+                if (code > LevelLoader.GHOST) throw new IllegalArgumentException("binary level: bad cell code " + code);
+                m[row][col] = code;
+            }
+        }
+        return LevelLoader.fromMatrix(m, pacX, pacY);
+    }
+
+    private static GameState parseText(ByteBuffer buf) {
+        List<String> lines = new ArrayList<>();
+        int pacX = -1, pacY = -1;
+        boolean pacHeader = false;
+
+        byte[] bytes = new byte[buf.remaining()];
+        buf.get(bytes);
+        for (String line : new String(bytes, StandardCharsets.US_ASCII).split("\n", -1)) {
+            if (line.endsWith("\r")) line = line.substring(0, line.length() - 1);
+            if (line.startsWith(";")) continue;
+            if (line.startsWith("pacman ")) {
+                String[] p = line.trim().split("\\s+");
+                if (p.length != 3) throw new IllegalArgumentException("text level: bad line '" + line + "'");
+                try {
+                    pacX = Integer.parseInt(p[1]);
+                    pacY = Integer.parseInt(p[2]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("text level: bad line '" + line + "'");
+                }
+                pacHeader = true;
+                continue;
+            }
+            lines.add(line);
+        }
+        while (!lines.isEmpty() && lines.get(lines.size() - 1).isBlank()) lines.remove(lines.size() - 1);
+        if (lines.isEmpty()) throw new IllegalArgumentException("text level: no rows");
+
+        int h = lines.size(), w = 0;
+        for (String line : lines) w = Math.max(w, line.length());
+        if (w == 0) throw new IllegalArgumentException("text level: no columns");
+
+        int[][] m = new int[h][w];
+        for (int row = 0; row < h; row++) {
+            String line = lines.get(row);
+            for (int col = 0; col < line.length(); col++) {
+                char c = line.charAt(col);
+                m[row][col] = switch (c) {
+                    case '#' -> LevelLoader.WALL;
+                    case '.' -> LevelLoader.DOT;
+                    case 'o' -> LevelLoader.POWER;
+                    case 'G' -> LevelLoader.GHOST;
+                    case ' ' -> LevelLoader.EMPTY;
+                    case 'P' -> {
+                        if (pacHeader || pacX >= 0) throw new IllegalArgumentException("text level: more than one Pac-Man");
+                        pacX = col;
+                        pacY = h - 1 - row;
+                        yield LevelLoader.EMPTY;
+                    }
+                    default -> throw new IllegalArgumentException(
+                            "text level: bad character '" + c + "' at row " + row + ", column " + col);
+                };
+            }
+        }
+        if (pacX < 0) throw new IllegalArgumentException("text level: no Pac-Man ('P' cell or pacman line)");
+        return LevelLoader.fromMatrix(m, pacX, pacY);
+    }
+
+    // ===================== WRITING =====================
+
+    /**
+     * Writes a state's level as a binary file. Ghosts and Pac-Man are stored at their current
+     * positions (the spawn points, for a freshly loaded level).
+     *
+     * @param s the game state
+     * @param file the target file (created or replaced)
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the level is larger than 65535 cells per side
+     */
+    public static void writeBinary(GameState s, Path file) throws IOException {
+        Files.write(file, toBinary(s));
+    }
+
+    /**
+     * Writes a state's level as a text file (see {@link #writeBinary} for entity positions).
+     *
+     * @param s the game state
+     * @param file the target file (created or replaced)
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeText(GameState s, Path file) throws IOException {
+        Files.writeString(file, toText(s), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Encodes a state's level in the binary format.
+     *
+     * @param s the game state
+     * @return the encoded level
+     * @throws IllegalArgumentException if the level is larger than 65535 cells per side
+     */
+    public static byte[] toBinary(GameState s) {
+        if (s.w > 0xFFFF || s.h > 0xFFFF) throw new IllegalArgumentException("level too large for the binary format");
+        int[][] m = toMatrix(s);
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + (s.w * s.h + 1) / 2);
+        buf.put(MAGIC).put(VERSION);
+        buf.putShort((short) s.w).putShort((short) s.h);
+        buf.putShort((short) s.pacX).putShort((short) s.pacY);
+
+        int i = 0, b = 0;
+        for (int[] row : m) {
+            for (int code : row) {
+                if ((i & 1) == 0) b = code << 4;
+                else buf.put((byte) (b | code));
+                i++;
+            }
+        }
+        if ((i & 1) == 1) buf.put((byte) b);
+        return buf.array();
+    }
+
+    /**
+     * Encodes a state's level in the text format.
+     *
+     * @param s the game state
+     * @return the level text, one line per row
+     */
+    public static String toText(GameState s) {
+        int[][] m = toMatrix(s);
+        int pacRow = s.h - 1 - s.pacY;
+        boolean pacCell = s.inBounds(s.pacX, s.pacY) && m[pacRow][s.pacX] == LevelLoader.EMPTY;
+
+        StringBuilder sb = new StringBuilder();
+        if (!pacCell) sb.append("pacman ").append(s.pacX).append(' ').append(s.pacY).append('\n');
+        for (int row = 0; row < s.h; row++) {
+            for (int col = 0; col < s.w; col++) {
+                if (pacCell && row == pacRow && col == s.pacX) {
+                    sb.append('P');
+                    continue;
+                }
+                sb.append(switch (m[row][col]) {
+                    case LevelLoader.WALL -> '#';
+                    case LevelLoader.DOT -> '.';
+                    case LevelLoader.POWER -> 'o';
+                    case LevelLoader.GHOST -> 'G';
+                    default -> ' ';
+                });
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /** @return the level matrix of a state (row 0 at the top), with ghosts marked on their cells. */
+    private static int[][] toMatrix(GameState s) {
+        int[][] m = new int[s.h][s.w];
+        for (int x = 0; x < s.w; x++) {
+            for (int y = 0; y < s.h; y++) {
+                Tile t = s.grid[x][y];
+                m[s.h - 1 - y][x] = switch (t) {
+                    case WALL -> LevelLoader.WALL;
+                    case DOT -> LevelLoader.DOT;
+                    case POWER -> LevelLoader.POWER;
+                    default -> LevelLoader.EMPTY;
+                };
+            }
+        }
+        for (Ghost g : s.getGhosts()) {
+            if (s.inBounds(g.x(), g.y())) m[s.h - 1 - g.y()][g.x()] = LevelLoader.GHOST;
+        }
+        return m;
+    }
+}
@@ -9,7 +9,9 @@ import java.util.List;
 
 public class LevelLoader {
 
-    // 0 empty, 1 wall, 2 dot, 3 power, 4 ghost
+    /** Cell codes of a level matrix: 0 empty, 1 wall, 2 dot, 3 power, 4 ghost. */
+    public static final int EMPTY = 0, WALL = 1, DOT = 2, POWER = 3, GHOST = 4;
+
     public static GameState level0() {
         int[][] m = {
                 {1,1,1,1,1,1,1,1,1,1,1,1,1},
@@ -24,43 +26,7 @@ public class LevelLoader {
                 {1,1,1,1,1,1,1,1,1,1,1,1,1},
         };
 
-
-        int H = m.length;
-        int W = m[0].length;
-
-        Tile[][] g = new Tile[W][H];
-        List<int[]> ghostSpawns = new ArrayList<>();
-
-        for (int y = 0; y < H; y++) {
-            for (int x = 0; x < W; x++) {
-                int v = m[y][x];
-
-                int gx = x;
-                int gy = H - 1 - y; // keep your coordinate flip
-
-                if (v == 4) {
-                    ghostSpawns.add(new int[]{gx, gy});
-                    g[gx][gy] = Tile.EMPTY;
-                    continue;
-                }
-
-                g[gx][gy] = switch (v) {
-                    case 1 -> Tile.WALL;
-                    case 2 -> Tile.DOT;
-                    case 3 -> Tile.POWER;
-                    default -> Tile.EMPTY;
-                };
-            }
-        }
-
-        GameState s = new GameState(g, 1, 1);
-
-        // create ghosts from spawns
-        for (int[] p : ghostSpawns) {
-            s.addGhost(new Ghost(p[0], p[1]));
-        }
-
-        return s;
+        return fromMatrix(m, 1, 1);
     }
     public static GameState level1() {
 
@@ -88,43 +54,7 @@ public class LevelLoader {
                 {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
         };
 
-        int H = m.length;
-        int W = m[0].length;
-
-        Tile[][] g = new Tile[W][H];
-        java.util.List<int[]> ghostSpawns = new java.util.ArrayList<>();
-
-        for (int y = 0; y < H; y++) {
-            for (int x = 0; x < W; x++) {
-                int v = m[y][x];
-
-                int gx = x;
-                int gy = H - 1 - y; // keep your coordinate flip
-
-                if (v == 4) {
-                    ghostSpawns.add(new int[]{gx, gy});
-                    g[gx][gy] = Tile.EMPTY;
-                    continue;
-                }
-
-                g[gx][gy] = switch (v) {
-                    case 1 -> Tile.WALL;
-                    case 2 -> Tile.DOT;
-                    case 3 -> Tile.POWER;
-                    default -> Tile.EMPTY;
-                };
-            }
-        }
-
-        // ✅ Start not on POWER (was (1,1) which is a POWER in this map)
-        GameState s = new GameState(g, 1, 2);
-
-        // create ghosts from spawns
-        for (int[] p : ghostSpawns) {
-            s.addGhost(new Ghost(p[0], p[1]));
-        }
-
-        return s;
+        return fromMatrix(m, 1, 2);
     }
     public static GameState level2() {
 
@@ -162,42 +92,66 @@ public class LevelLoader {
                 {1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1},
         };
 
+        // Start not on a POWER
+        return fromMatrix(m, 1, 2);
+    }
+
+    /**
+     * Builds a game state from a level matrix.
+     *
+     * <p>The matrix is written the way a level is drawn: {@code m[row][col]} with row 0 at the top.
+     * Rows are flipped so that row 0 becomes {@code y = H-1} (y grows upwards in the game).
+     * Ghost cells ({@link #GHOST}) become EMPTY tiles with a ghost spawned on them.
+     *
+     * @param m the level matrix (rectangular, non-empty), using the codes
+     *          {@link #EMPTY}, {@link #WALL}, {@link #DOT}, {@link #POWER}, {@link #GHOST}
+     * @param pacX Pac-Man's spawn x-coordinate (game coordinates)
+     * @param pacY Pac-Man's spawn y-coordinate (game coordinates)
+     * @return the new game state
+     * @throws IllegalArgumentException if the matrix is null, empty or not rectangular
+     */
+    public static GameState fromMatrix(int[][] m, int pacX, int pacY) {
+        if (m == null || m.length == 0 || m[0] == null || m[0].length == 0) {
+            throw new IllegalArgumentException("level matrix is null/empty");
+        }
         int H = m.length;
         int W = m[0].length;
 
         Tile[][] g = new Tile[W][H];
-        java.util.List<int[]> ghostSpawns = new java.util.ArrayList<>();
+        List<int[]> ghostSpawns = new ArrayList<>();
 
         for (int y = 0; y < H; y++) {
+            if (m[y] == null || m[y].length != W) {
+                throw new IllegalArgumentException("level matrix is not rectangular at row " + y);
+            }
             for (int x = 0; x < W; x++) {
                 int v = m[y][x];
 
                 int gx = x;
                 int gy = H - 1 - y; // keep your coordinate flip
 
-                if (v == 4) {
+                if (v == GHOST) {
                     ghostSpawns.add(new int[]{gx, gy});
                     g[gx][gy] = Tile.EMPTY;
                     continue;
                 }
 
                 g[gx][gy] = switch (v) {
-                    case 1 -> Tile.WALL;
-                    case 2 -> Tile.DOT;
-                    case 3 -> Tile.POWER;
+                    case WALL -> Tile.WALL;
+                    case DOT -> Tile.DOT;
+                    case POWER -> Tile.POWER;
                     default -> Tile.EMPTY;
                 };
             }
         }
 
-        // Start not on a POWER
-        GameState s = new GameState(g, 1, 2);
+        GameState s = new GameState(g, pacX, pacY);
 
+        // create ghosts from spawns
         for (int[] p : ghostSpawns) {
             s.addGhost(new Ghost(p[0], p[1]));
         }
 
         return s;
     }
-
 }
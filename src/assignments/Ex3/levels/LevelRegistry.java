@@ -0,0 +1,131 @@
+package assignments.Ex3.levels;
+
+import assignments.Ex3.model.GameState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A named, ordered collection of level factories.
+ *
+ * <p>A registry maps a level name to a {@link Supplier} that creates a fresh {@link GameState} on
+ * every call, which is exactly what a {@code Tournament} or {@code Simulator} needs. Sources:
+ * <ul>
+ *   <li><b>{@link #builtIn()}:</b> the compiled-in levels {@code level0..level2}</li>
+ *   <li><b>{@link #scan(Path)}:</b> every {@value LevelFile#BINARY_EXT} / {@value LevelFile#TEXT_EXT}
+ *       file of a directory, named by file name without extension, in name order</li>
+ *   <li><b>{@link #register}:</b> any other factory (e.g. a seeded generator)</li>
+ * </ul>
+ * File levels are re-read (memory-mapped) on every call, so edits to a file apply to the next game.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see LevelFile
+ * @see LevelLoader
+ */
+public final class LevelRegistry {
+
+    private final LinkedHashMap<String, Supplier<GameState>> levels = new LinkedHashMap<>();
+
+    /** @return a registry holding the built-in levels {@code level0}, {@code level1}, {@code level2}. */
+    public static LevelRegistry builtIn() {
+        return new LevelRegistry()
+                .register("level0", LevelLoader::level0)
+                .register("level1", LevelLoader::level1)
+                .register("level2", LevelLoader::level2);
+    }
+
+    /**
+     * Enumerates a directory of level files (not recursive).
+     *
+     * @param dir the directory to scan
+     * @return a registry with one entry per level file, in file-name order
+     * @throws IOException if the directory cannot be listed
+     */
+    public static LevelRegistry scan(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(Files::isRegularFile)
+                    .filter(p -> nameOf(p) != null)
+                    .sorted()
+                    .toList();
+        }
+
+        LevelRegistry r = new LevelRegistry();
+        for (Path p : files) {
+            r.register(nameOf(p), () -> {
+                try {
+                    return LevelFile.load(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return r;
+    }
+
+    /**
+     * Adds (or replaces) a level.
+     *
+     * @param name the level name
+     * @param level factory creating a fresh game state on every call
+     * @return this registry
+     * @throws IllegalArgumentException if name or level is null
+     */
+    public LevelRegistry register(String name, Supplier<GameState> level) {
+        if (name == null || level == null) throw new IllegalArgumentException("name/level is null");
+        levels.put(name, level);
+        return this;
+    }
+
+    /** @return the level names, in registration order (unmodifiable). */
+    public List<String> names() {
+        return Collections.unmodifiableList(new ArrayList<>(levels.keySet()));
+    }
+
+    /** @return the number of registered levels. */
+    public int size() {
+        return levels.size();
+    }
+
+    /**
+     * @param name the level name
+     * @return the level's factory
+     * @throws IllegalArgumentException if no level has this name
+     */
+    public Supplier<GameState> supplier(String name) {
+        Supplier<GameState> level = levels.get(name);
+        if (level == null) throw new IllegalArgumentException("unknown level: " + name);
+        return level;
+    }
+
+    /**
+     * Creates a fresh game state of a level.
+     *
+     * @param name the level name
+     * @return the new game state
+     * @throws IllegalArgumentException if no level has this name or its file is invalid
+     * @throws UncheckedIOException if the level file cannot be read
+     */
+    public GameState load(String name) {
+        return supplier(name).get();
+    }
+
+    /** @return the level name of a level file, or {@code null} if the file has no level extension. */
+    private static String nameOf(Path p) {
+        String f = p.getFileName().toString();
+        for (String ext : new String[]{LevelFile.BINARY_EXT, LevelFile.TEXT_EXT}) {
+            if (f.endsWith(ext) && f.length() > ext.length()) return f.substring(0, f.length() - ext.length());
+        }
+        return null;
+    }
+}
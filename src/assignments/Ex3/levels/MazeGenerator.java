@@ -0,0 +1,342 @@
+package assignments.Ex3.levels;
+
+import assignments.Ex3.model.GameState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Seeded generator of Pac-Man style levels of any size, for benchmarks and tournaments.
+ *
+ * <p>A level is built in the {@link LevelLoader} matrix layout and converted with
+ * {@link LevelLoader#fromMatrix}:
+ * <ol>
+ *   <li><b>Maze:</b> the left half is carved as a perfect maze (iterative randomized DFS on the odd
+ *       coordinates), then a fraction of the inner walls is knocked out to create loops</li>
+ *   <li><b>Symmetry:</b> the left half is mirrored onto the right half; corridors crossing the
+ *       middle column join the two halves</li>
+ *   <li><b>Ghost house:</b> a walled box with a door on top, centered on the board and surrounded by
+ *       an empty corridor ring; the ghosts spawn inside</li>
+ *   <li><b>Pickups:</b> corridor cells get a DOT with the configured density (mirrored), and POWER
+ *       pellets go to the corridor cells closest to the corners, in mirrored pairs</li>
+ *   <li><b>Pac-Man:</b> spawns on the free cell nearest to the bottom-center area</li>
+ * </ol>
+ *
+ * <p>Every open cell is reachable from every other, and {@link #generate()} returns the same level
+ * for the same settings and seed, so a generator can be used directly as a level factory.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see LevelLoader
+ * @see LevelRegistry
+ */
+public final class MazeGenerator {
+
+    /** Smallest supported board side. */
+    public static final int MIN_SIZE = 11;
+
+    /** Largest supported board side. */
+    public static final int MAX_SIZE = 4096;
+
+    private final int w, h;
+    private final long seed;
+
+    private int ghosts = 4;
+    private double dotDensity = 1.0;
+    private int powers = 4;
+    private double loops = 0.1;
+
+    /**
+     * Constructs a generator with default settings: 4 ghosts, a DOT on every corridor cell,
+     * 4 POWER pellets and 10% of the inner maze walls removed.
+     *
+     * @param w board width, in [{@link #MIN_SIZE}, {@link #MAX_SIZE}]
+     * @param h board height, in [{@link #MIN_SIZE}, {@link #MAX_SIZE}]
+     * @param seed random seed
+     * @throws IllegalArgumentException if a size is out of range
+     */
+    public MazeGenerator(int w, int h, long seed) {
+        if (w < MIN_SIZE || h < MIN_SIZE || w > MAX_SIZE || h > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be in [" + MIN_SIZE + "," + MAX_SIZE + "]: " + w + "x" + h);
+        }
+        this.w = w;
+        this.h = h;
+        this.seed = seed;
+    }
+
+    /**
+     * @param n number of ghosts spawned in the ghost house (the house widens to fit them)
+     * @return this generator
+     * @throws IllegalArgumentException if n is negative or the house would not fit the board
+     */
+    public MazeGenerator ghosts(int n) {
+        if (n < 0) throw new IllegalArgumentException("ghosts must be >= 0");
+        if (houseInnerWidth(n) + 6 > w) throw new IllegalArgumentException("too many ghosts for width " + w);
+        this.ghosts = n;
+        return this;
+    }
+
+    /**
+     * @param d probability of a corridor cell holding a DOT, in [0,1]
+     * @return this generator
+     * @throws IllegalArgumentException if d is out of range
+     */
+    public MazeGenerator dotDensity(double d) {
+        if (!(d >= 0 && d <= 1)) throw new IllegalArgumentException("dotDensity must be in [0,1]");
+        this.dotDensity = d;
+        return this;
+    }
+
+    /**
+     * @param n number of POWER pellets (fewer if the maze has fewer corridor cells)
+     * @return this generator
+     * @throws IllegalArgumentException if n is negative
+     */
+    public MazeGenerator powers(int n) {
+        if (n < 0) throw new IllegalArgumentException("powers must be >= 0");
+        this.powers = n;
+        return this;
+    }
+
+    /**
+     * @param p probability of removing an inner maze wall (0 = perfect maze, more = more loops), in [0,1]
+     * @return this generator
+     * @throws IllegalArgumentException if p is out of range
+     */
+    public MazeGenerator loops(double p) {
+        if (!(p >= 0 && p <= 1)) throw new IllegalArgumentException("loops must be in [0,1]");
+        this.loops = p;
+        return this;
+    }
+
+    /** @return a fresh game state of the generated level */
+    public GameState generate() {
+        Random rnd = new Random(seed);
+        int[][] m = new int[h][w];
+        for (int[] row : m) Arrays.fill(row, LevelLoader.WALL);
+
+        int half = (w + 1) / 2; // left half, including the middle column when w is odd
+        carveHalf(m, half, rnd);
+        mirror(m);
+
+        boolean[][] house = placeHouse(m);
+        placeDots(m, house, rnd);
+        placePowers(m, house);
+
+        int[] pac = pacSpawn(m, house);
+        m[pac[0]][pac[1]] = LevelLoader.EMPTY;
+        return LevelLoader.fromMatrix(m, pac[1], h - 1 - pac[0]);
+    }
+
+    // ===================== MAZE =====================
+
+    /** Carves a perfect maze plus loops into columns [0, half) of m, on the odd (row, col) lattice. */
+    private void carveHalf(int[][] m, int half, Random rnd) {
+        int rows = (h - 1) / 2, cols = half / 2; // lattice cell (r,c) -> matrix (2r+1, 2c+1)
+        int[] stack = new int[rows * cols];
+        boolean[] seen = new boolean[rows * cols];
+        int[] dirs = new int[4];
+        int sp = 0;
+
+        stack[sp++] = 0;
+        seen[0] = true;
+        m[1][1] = LevelLoader.EMPTY;
+
+        while (sp > 0) {
+            int c = stack[sp - 1];
+            int cr = c / cols, cc = c % cols;
+
+            int k = 0;
+            if (cr > 0 && !seen[c - cols]) dirs[k++] = 0;
+            if (cc > 0 && !seen[c - 1]) dirs[k++] = 1;
+            if (cr + 1 < rows && !seen[c + cols]) dirs[k++] = 2;
+            if (cc + 1 < cols && !seen[c + 1]) dirs[k++] = 3;
+            if (k == 0) {
+                sp--;
+                continue;
+            }
+
+            int d = dirs[rnd.nextInt(k)];
+            int nr = cr + (d == 0 ? -1 : d == 2 ? 1 : 0);
+            int nc = cc + (d == 1 ? -1 : d == 3 ? 1 : 0);
+            int n = nr * cols + nc;
+
+            m[cr + nr + 1][cc + nc + 1] = LevelLoader.EMPTY; // wall between the two cells
+            m[2 * nr + 1][2 * nc + 1] = LevelLoader.EMPTY;
+            seen[n] = true;
+            stack[sp++] = n;
+        }
+
+        // loops: knock out walls that separate two corridor cells
+        for (int r = 1; r < h - 1; r++) {
+            for (int c = 1; c < half; c++) {
+                if (m[r][c] != LevelLoader.WALL || ((r ^ c) & 1) == 0) continue;
+                boolean vertical = (r & 1) == 0; // between (r-1,c) and (r+1,c)
+                int ar = vertical ? r - 1 : r, ac = vertical ? c : c - 1;
+                int br = vertical ? r + 1 : r, bc = vertical ? c : c + 1;
+                if (br >= h - 1 || bc >= half) continue;
+                if (m[ar][ac] == LevelLoader.EMPTY && m[br][bc] == LevelLoader.EMPTY && rnd.nextDouble() < loops) {
+                    m[r][c] = LevelLoader.EMPTY;
+                }
+            }
+        }
+
+        // the middle column is not on the lattice: open a few passages into it so the halves connect
+        int mid = half - 1;
+        if ((mid & 1) == 0) {
+            boolean any = false;
+            for (int r = 1; r < h - 1; r += 2) {
+                if (m[r][mid - 1] == LevelLoader.EMPTY && rnd.nextDouble() < 0.3) {
+                    m[r][mid] = LevelLoader.EMPTY;
+                    any = true;
+                }
+            }
+            if (!any) m[1][mid] = LevelLoader.EMPTY;
+        }
+    }
+
+    /** Copies the left half onto the right half (column c -> w-1-c). */
+    private void mirror(int[][] m) {
+        for (int[] row : m) {
+            for (int c = 0; c < w / 2; c++) row[w - 1 - c] = row[c];
+        }
+    }
+
+    // ===================== GHOST HOUSE =====================
+
+    /** @return the interior width of a house holding n ghosts in two rows (same parity as w, so it centers). */
+    private int houseInnerWidth(int n) {
+        int iw = Math.max(3, (n + 1) / 2);
+        if ((iw & 1) != (w & 1)) iw++;
+        return iw;
+    }
+
+    /**
+     * Clears a centered region, builds the walled house inside it and spawns the ghosts.
+     *
+     * <p>Layout (region = house + one corridor cell on every side):
+     * an empty ring, the house wall with a door in the middle of its top side, and two interior rows.
+     *
+     * @return a mask of the region cells (no pickups go there)
+     */
+    private boolean[][] placeHouse(int[][] m) {
+        int iw = houseInnerWidth(ghosts);
+        int rw = iw + 4, rh = 6;
+        int left = (w - rw) / 2, top = (h - rh) / 2;
+
+        boolean[][] region = new boolean[h][w];
+        for (int r = top; r < top + rh; r++) {
+            for (int c = left; c < left + rw; c++) {
+                region[r][c] = true;
+                boolean ring = r == top || r == top + rh - 1 || c == left || c == left + rw - 1;
+                boolean wall = r == top + 1 || r == top + rh - 2 || c == left + 1 || c == left + rw - 2;
+                m[r][c] = (!ring && wall) ? LevelLoader.WALL : LevelLoader.EMPTY;
+            }
+        }
+
+        // door: the middle one or two cells of the top wall
+        int doorL = left + 2 + (iw - 1) / 2, doorR = left + 2 + iw / 2;
+        for (int c = doorL; c <= doorR; c++) m[top + 1][c] = LevelLoader.EMPTY;
+
+        int placed = 0;
+        for (int r = top + 2; r <= top + 3 && placed < ghosts; r++) {
+            for (int c = left + 2; c < left + 2 + iw && placed < ghosts; c++, placed++) {
+                m[r][c] = LevelLoader.GHOST;
+            }
+        }
+        return region;
+    }
+
+    // ===================== PICKUPS =====================
+
+    /** Puts a DOT on corridor cells with probability {@link #dotDensity}, decided on the left half and mirrored. */
+    private void placeDots(int[][] m, boolean[][] house, Random rnd) {
+        for (int r = 0; r < h; r++) {
+            for (int c = 0; c < (w + 1) / 2; c++) {
+                if (m[r][c] != LevelLoader.EMPTY || house[r][c]) continue;
+                if (rnd.nextDouble() < dotDensity) {
+                    m[r][c] = LevelLoader.DOT;
+                    m[r][w - 1 - c] = LevelLoader.DOT;
+                }
+            }
+        }
+    }
+
+    /**
+     * Places {@link #powers} POWER pellets on the corridor cells nearest to the corners, alternating
+     * top/bottom, as mirrored pairs. An odd last pellet goes to the middle column when it has room.
+     */
+    private void placePowers(int[][] m, boolean[][] house) {
+        int pairs = powers / 2;
+        for (int i = 0; i < pairs; i++) {
+            int[] cell = nearestFree(m, house, (i & 1) == 0 ? 1 : h - 2, 1, w / 2);
+            if (cell == null) return;
+            m[cell[0]][cell[1]] = LevelLoader.POWER;
+            m[cell[0]][w - 1 - cell[1]] = LevelLoader.POWER;
+        }
+        if ((powers & 1) == 1) {
+            int[] cell = nearestFree(m, house, 1, w / 2, w / 2 + 1);
+            if (cell != null) m[cell[0]][cell[1]] = LevelLoader.POWER;
+        }
+    }
+
+    /** @return Pac-Man's spawn cell (row, col): the free cell nearest to the middle of the lower part */
+    private int[] pacSpawn(int[][] m, boolean[][] house) {
+        int[] cell = nearestFree(m, house, (h + (h - 6) / 2 + 6) / 2, w / 2, w);
+        if (cell == null) cell = nearestFree(m, house, h / 2, w / 2, w);
+        return cell;
+    }
+
+    /**
+     * @return the free (non-wall, non-POWER, outside the house region) cell with columns in
+     *         [0, colEnd) nearest (Manhattan) to (row, col), or {@code null} if none
+     */
+    private int[] nearestFree(int[][] m, boolean[][] house, int row, int col, int colEnd) {
+        int[] best = null;
+        int bestD = Integer.MAX_VALUE;
+        for (int r = 0; r < h; r++) {
+            for (int c = 0; c < colEnd; c++) {
+                int v = m[r][c];
+                if (v == LevelLoader.WALL || v == LevelLoader.POWER || house[r][c]) continue;
+                int d = Math.abs(r - row) + Math.abs(c - col);
+                if (d < bestD) {
+                    bestD = d;
+                    best = new int[]{r, c};
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Writes a batch of generated levels as binary level files ({@code maze-000.pml}, ...).
+     *
+     * <p>Usage: {@code MazeGenerator <dir> [count] [width] [height] [seed]}
+     * (defaults {@code 100 41 31 1}); level {@code i} uses seed {@code seed + i}.
+     *
+     * @param args command-line arguments
+     * @throws IOException if a file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("usage: MazeGenerator <dir> [count] [width] [height] [seed]");
+            return;
+        }
+        Path dir = Path.of(args[0]);
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int w = args.length > 2 ? Integer.parseInt(args[2]) : 41;
+        int h = args.length > 3 ? Integer.parseInt(args[3]) : 31;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1L;
+
+        Files.createDirectories(dir);
+        for (int i = 0; i < count; i++) {
+            GameState s = new MazeGenerator(w, h, seed + i).generate();
+            LevelFile.writeBinary(s, dir.resolve(String.format("maze-%03d%s", i, LevelFile.BINARY_EXT)));
+        }
+        System.out.println("wrote " + count + " levels to " + dir);
+    }
+}
@@ -1,19 +1,31 @@
 package assignments.Ex3.model;
 
+import java.util.Arrays;
+
 /**
  * Handles collision detection and resolution between Pac-Man and ghosts.
  *
- * <p>This system checks if Pac-Man occupies the same grid position as any ghost,
- * and if so, delegates the collision handling to the game state.
- * It is called after both Pac-Man and ghost movements to ensure accurate collision detection.
+ * <p>A tick is bracketed by two calls:
+ * <ol>
+ *   <li>{@link #beginTick(GameState)}, before anything moves, records the pre-move cells of
+ *       Pac-Man and every ghost</li>
+ *   <li>{@link #resolve(GameState)}, after Pac-Man and the ghosts moved, finds every ghost that
+ *       met Pac-Man during the tick and resolves all of them in one O(ghosts) pass</li>
+ * </ol>
+ * A ghost meets Pac-Man if it ends the tick on Pac-Man's cell (same cell), or if Pac-Man stepped
+ * onto the cell the ghost was leaving. The second case includes the edge swap, where Pac-Man and
+ * the ghost trade cells and would otherwise pass through each other.
  *
  * <p>Collision resolution includes:
  * <ul>
  *   <li>Checking if the ghost is eatable (in power mode)</li>
- *   <li>Removing the ghost from play if eaten</li>
- *   <li>Reducing Pac-Man's lives if hit by a non-eatable ghost</li>
+ *   <li>Every eatable ghost that was met is eaten (points, back to its spawn)</li>
+ *   <li>If any non-eatable ghost was met, Pac-Man loses one life (entities reset)</li>
  * </ul>
  *
+ * <p>Without a {@code beginTick} for the current tick, {@code resolve} checks same-cell hits only.
+ * Buffers are reused across ticks, so resolving allocates nothing in the steady state.
+ *
  * @author Lidor Ayhoni
  * @version 1.0
  * @since 1.0
@@ -21,25 +33,75 @@ package assignments.Ex3.model;
  */
 public class CollisionSystem {
 
+    // Pre-move cells recorded by beginTick (valid while armedFor == the state being resolved)
+    private GameState armedFor;
+    private int prePacX, prePacY;
+    private int[] preX = new int[0], preY = new int[0];
+    private int preCount;
+
+    // Ghost indexes hit this tick
+    private int[] hits = new int[0];
+
+    /**
+     * Records the pre-move cells of Pac-Man and all ghosts. Call before moving anything.
+     *
+     * @param s the game state about to be stepped
+     */
+    public void beginTick(GameState s) {
+        int n = s.getGhostCount();
+        if (preX.length < n) {
+            preX = new int[Math.max(n, preX.length * 2)];
+            preY = new int[preX.length];
+        }
+        for (int i = 0; i < n; i++) {
+            preX[i] = s.ghostX(i);
+            preY[i] = s.ghostY(i);
+        }
+        preCount = n;
+        prePacX = s.pacX;
+        prePacY = s.pacY;
+        armedFor = s;
+    }
+
     /**
-     * Resolves collisions between Pac-Man and all ghosts in the game state.
+     * Resolves every collision between Pac-Man and the ghosts since {@link #beginTick}.
      *
-     * <p>This method checks if Pac-Man's current position matches any ghost's position.
-     * If a collision is detected, it immediately delegates the resolution to
-     * {@link GameState#onPacmanGhostCollision(Ghost)} and returns.
+     * <p>The pass first collects the ghosts that met Pac-Man, then eats all eatable ones and,
+     * if any non-eatable one was met, takes exactly one life
+     * (via {@link GameState#onPacmanGhostCollision(Ghost)}).
      *
      * @param s the current game state containing Pac-Man position and all ghosts
+     * @return the number of ghosts that met Pac-Man this tick
      * @see GameState#onPacmanGhostCollision(Ghost)
      */
-    public void resolve(GameState s) {
+    public int resolve(GameState s) {
+        boolean swept = armedFor == s;
+        armedFor = null;
+
         int px = s.pacX;
         int py = s.pacY;
+        boolean pacMoved = swept && (px != prePacX || py != prePacY);
+
+        // The common no-collision case: nothing on Pac-Man's cell and Pac-Man stood still
+        if (!pacMoved && s.ghostCountAt(px, py) == 0) return 0;
+
+        int n = s.getGhostCount();
+        if (hits.length < n) hits = Arrays.copyOf(hits, Math.max(n, hits.length * 2));
+
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            boolean sameCell = s.ghostX(i) == px && s.ghostY(i) == py;
+            boolean crossed = pacMoved && i < preCount && preX[i] == px && preY[i] == py;
+            if (sameCell || crossed) hits[count++] = i;
+        }
 
-        for (Ghost g : s.getGhosts()) {
-            if (g.x() == px && g.y() == py) {
-                s.onPacmanGhostCollision(g);
-                return;
-            }
+        Ghost danger = null;
+        for (int k = 0; k < count; k++) {
+            Ghost g = s.ghost(hits[k]);
+            if (g.isEatable()) s.onPacmanGhostCollision(g);
+            else if (danger == null) danger = g;
         }
+        if (danger != null) s.onPacmanGhostCollision(danger);
+        return count;
     }
-}
\ No newline at end of file
+}
@@ -12,24 +12,32 @@ package assignments.Ex3.model;
  * <p>Subclasses must implement specific behavior such as movement logic or rendering.
  * The position and direction can be modified during gameplay to reflect entity movement.
  *
+ * <p>Subclasses may keep the position and direction elsewhere by overriding the accessors
+ * (a {@link Ghost} added to a {@link GameState} lives in the state's ghost store). The fields here
+ * are then stale, so they are private: position and direction are read and written only
+ * through {@link #x()}, {@link #y()}, {@link #dir()}, {@link #setPos} and {@link #setDir}.
+ *
  * @author Lidor Ayhoni
  * @version 1.0
  * @since 1.0
  * @see Ghost
  */
 public abstract class Entity {
-    protected int x, y;
-    protected Direction dir = Direction.STAY;
+    private int x, y;
+    private Direction dir = Direction.STAY;
 
     protected Entity(int x, int y) {
         this.x = x;
         this.y = y;
     }
 
-    public final int x() { return x; }
-    public final int y() { return y; }
-    public final Direction dir() { return dir; }
+    public int x() { return x; }
+    public int y() { return y; }
+    public Direction dir() { return dir; }
 
-    public final void setDir(Direction d) { this.dir = d; }
-    public final void setPos(int x, int y) { this.x = x; this.y = y; }
+    public void setDir(Direction d) { this.dir = d; }
+    public void setPos(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package assignments.Ex3.model;
+
+/**
+ * The per-tick game rules shared by every driver of a {@link GameState}.
+ *
+ * <p>The interactive {@code GameLoop}, the headless {@code Simulator} and any forward-simulating AI
+ * apply exactly the same movement and pickup rules by calling these methods:
+ * <ul>
+ *   <li><b>Pac-Man step:</b> move one cell if not blocked, eat DOT / POWER on arrival</li>
+ *   <li><b>Ghost step:</b> every ghost picks a direction via {@link GhostMovement} and moves if not blocked</li>
+ *   <li><b>Win check:</b> the level is cleared when no DOT tiles remain</li>
+ * </ul>
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see GameState
+ * @see GhostMovement
+ */
+public final class GameRules {
+
+    /** Points for eating a DOT. */
+    public static final int DOT_SCORE = 10;
+
+    /** Points for eating a POWER pellet. */
+    public static final int POWER_SCORE = 50;
+
+    /** Power mode duration (in ticks) granted by a POWER pellet. */
+    public static final int POWER_TICKS = 80;
+
+    private GameRules() {}
+
+    /**
+     * Moves Pac-Man one step in the given direction.
+     *
+     * <p>If the target cell is not a wall:
+     * <ul>
+     *   <li>Updates Pac-Man's position</li>
+     *   <li>If the cell contains a DOT:  removes it and adds 10 points</li>
+     *   <li>If the cell contains a POWER: removes it, adds 50 points, and activates power mode</li>
+     * </ul>
+     *
+     * @param s the game state to update
+     * @param d the direction to move Pac-Man
+     */
+    public static void stepPacman(GameState s, Direction d) {
+        int nx = s.pacX + d.dx;
+        int ny = s.pacY + d.dy;
+
+        if (!s.isWall(nx, ny)) {
+            s.pacX = nx;
+            s.pacY = ny;
+
+            if (s.isDot(nx, ny)) {
+                s.setTile(nx, ny, Tile.EMPTY);
+                s.addScore(DOT_SCORE);
+            } else if (s.isPower(nx, ny)) {
+                s.setTile(nx, ny, Tile.EMPTY);
+                s.addScore(POWER_SCORE);
+                s.activatePower(POWER_TICKS);
+            }
+        }
+    }
+
+    /**
+     * Moves all ghosts one step based on their movement logic.
+     *
+     * <p>For each ghost:
+     * <ol>
+     *   <li>Computes next direction using GhostMovement AI</li>
+     *   <li>Updates ghost's facing direction</li>
+     *   <li>Moves ghost to new position if not blocked by wall</li>
+     * </ol>
+     *
+     * @param s the game state to update
+     * @param movement the ghost movement policy
+     */
+    public static void moveGhosts(GameState s, GhostMovement movement) {
+        for (int i = 0, n = s.getGhostCount(); i < n; i++) {
+            Direction next = movement.chooseNext(s.ghost(i), s);
+            s.setGhostDir(i, next);
+
+            int nx = s.ghostX(i) + next.dx;
+            int ny = s.ghostY(i) + next.dy;
+
+            if (!s.isWall(nx, ny)) {
+                s.moveGhost(i, nx, ny);
+            }
+        }
+    }
+
+    /**
+     * Checks if any dots remain on the map (O(1), via the state's incremental counter).
+     *
+     * @param s the game state to inspect
+     * @return {@code true} if at least one DOT tile exists; {@code false} if all dots are eaten
+     */
+    public static boolean hasDotsLeft(GameState s) {
+        return s.getDotsLeft() > 0;
+    }
+}
@@ -1,20 +1,22 @@
 package assignments.Ex3.model;
 
-import assignments.Ex3.Index2D;
-
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 /**
  * Represents the complete state of an active Pac-Man game session.
  *
  * <p>This class maintains all game data and logic:
  * <ul>
- *   <li><b>Game grid: </b> 2D tile map defining walls, dots, and power pellets</li>
- *   <li><b>Entities:</b> Pac-Man position/state and all active ghosts</li>
+ *   <li><b>Game grid: </b> 2D tile map defining walls, dots, and power pellets,
+ *       mirrored in packed per-class bitsets for O(1) bit-test tile queries</li>
+ *   <li><b>Entities:</b> Pac-Man position/state and all active ghosts, stored as parallel arrays
+ *       ({@link Ghost} objects are views on them)</li>
  *   <li><b>Game flow:</b> Score, lives, game-over status, and AI mode toggle</li>
  *   <li><b>Power mode:</b> Temporary ghost-eating capability with countdown timer</li>
  *   <li><b>Deterministic reset:</b> Spawn points for respawning entities</li>
+ *   <li><b>Lookahead:</b> {@link #snapshot()} / {@link #restore(Snapshot)} with a tile undo stack</li>
  * </ul>
  *
  * <p>The game state serves as the central hub for game logic and is accessed by the
@@ -29,6 +31,14 @@ import java.util.List;
  */
 public class GameState {
     public final int w, h;
+
+    /**
+     * The tile map, indexed {@code grid[x][y]}; the state's own copy of the constructor's grid.
+     *
+     * @implNote Read-only for callers. The wall/dot/power bitsets, pickup counters, tile journal
+     * and undo stack all mirror this array and are updated only by {@link #setTile}; writing an
+     * element directly leaves them silently out of sync. Change tiles with {@link #setTile} only.
+     */
     public final Tile[][] grid;
 
     public int pacX, pacY;
@@ -41,13 +51,38 @@ public class GameState {
     // Spawn points (deterministic reset)
     private final int pacSpawnX, pacSpawnY;
 
-    // Ghosts + their spawns (same index)
-    private final List<Ghost> ghosts = new ArrayList<>();
-    private final List<Index2D> ghostSpawns = new ArrayList<>();
+    // Ghosts: position, direction, spawn and eatable flag per slot (structure of arrays)
+    private final GhostStore ghosts = new GhostStore();
+    private final List<Ghost> ghostList = new GhostList();
+
+    // Ghost occupancy index: cell (x*h+y) -> number of ghosts / non-eatable ghosts there
+    private final int[] ghostCount;
+    private final int[] dangerCount;
 
     // --- Power mode ---
     private int powerTicksLeft = 0;
 
+    // Remaining pickups (kept in sync by setTile)
+    private int dotsLeft, powersLeft;
+
+    // Packed tile classes: bit (x*h+y) of each set mirrors grid[x][y] (kept in sync by setTile)
+    private final long[] wallBits, dotBits, powerBits;
+
+    // Tile change journal: the cell (x*h+y) of the last TILE_LOG setTile changes, and their total count
+    private static final int TILE_LOG = 1024;
+    private final int[] tileLog = new int[TILE_LOG];
+    private long tileVersion = 0;
+
+    // Undo stack of tile changes: cell (x*h+y), previous tile and a unique stamp per entry (see snapshot)
+    private int[] undoCell = new int[16];
+    private Tile[] undoOld = new Tile[16];
+    private long[] undoStamp = new long[16];
+    private int undoTop = 0;
+    private long undoPushes = 0;
+
+    // Board identity, shared by a state and its copies (see getBoardId)
+    private final Object boardId;
+
     public Direction pacDir = Direction.LEFT; //Or STAY
     public boolean aiEnabled = false;
     /**
@@ -62,7 +97,8 @@ public class GameState {
      *   <li>No ghosts (must be added via {@link #addGhost(Ghost)})</li>
      * </ul>
      *
-     * @param grid the 2D tile map defining the game world (must be non-null and non-empty)
+     * @param grid the 2D tile map defining the game world (must be non-null and non-empty);
+     *             it is copied, so later changes to the array do not affect the state
      * @param pacX the initial x-coordinate of Pac-Man (and spawn point)
      * @param pacY the initial y-coordinate of Pac-Man (and spawn point)
      * @throws IllegalArgumentException if grid is null, empty, or has zero-length rows
@@ -71,15 +107,87 @@ public class GameState {
         if (grid == null || grid.length == 0 || grid[0].length == 0) {
             throw new IllegalArgumentException("grid is null/empty");
         }
-        this.grid = grid;
         this.w = grid.length;
         this.h = grid[0].length;
+        this.grid = new Tile[w][];
+        for (int x = 0; x < w; x++) this.grid[x] = grid[x].clone();
 
         this.pacX = pacX;
         this.pacY = pacY;
 
         this.pacSpawnX = pacX;
         this.pacSpawnY = pacY;
+
+        this.ghostCount = new int[w * h];
+        this.dangerCount = new int[w * h];
+
+        int words = (w * h + 63) >>> 6;
+        this.wallBits = new long[words];
+        this.dotBits = new long[words];
+        this.powerBits = new long[words];
+
+        for (int x = 0; x < w; x++) {
+            for (int y = 0; y < h; y++) {
+                Tile t = this.grid[x][y];
+                setBit(x * h + y, t, true);
+                if (t == Tile.DOT) dotsLeft++;
+                else if (t == Tile.POWER) powersLeft++;
+            }
+        }
+        this.boardId = new Object();
+    }
+
+    /**
+     * Copy constructor: a deep copy of {@code src} (grid, tile indexes, ghosts and their spawns).
+     */
+    private GameState(GameState src) {
+        this.w = src.w;
+        this.h = src.h;
+        this.grid = new Tile[w][];
+        for (int x = 0; x < w; x++) this.grid[x] = src.grid[x].clone();
+
+        this.pacX = src.pacX;
+        this.pacY = src.pacY;
+        this.score = src.score;
+        this.done = src.done;
+        this.lives = src.lives;
+        this.pacSpawnX = src.pacSpawnX;
+        this.pacSpawnY = src.pacSpawnY;
+        this.powerTicksLeft = src.powerTicksLeft;
+        this.pacDir = src.pacDir;
+        this.aiEnabled = src.aiEnabled;
+
+        this.ghostCount = src.ghostCount.clone();
+        this.dangerCount = src.dangerCount.clone();
+        ghosts.copyArraysFrom(src.ghosts);
+        for (int i = 0; i < ghosts.size; i++) {
+            Ghost g = new Ghost(ghosts.x[i], ghosts.y[i]);
+            g.owner = this;
+            g.index = i;
+            ghosts.views[i] = g;
+        }
+
+        this.dotsLeft = src.dotsLeft;
+        this.powersLeft = src.powersLeft;
+        this.wallBits = src.wallBits.clone();
+        this.dotBits = src.dotBits.clone();
+        this.powerBits = src.powerBits.clone();
+        System.arraycopy(src.tileLog, 0, tileLog, 0, TILE_LOG);
+        this.tileVersion = src.tileVersion;
+        this.boardId = src.boardId;
+    }
+
+    /**
+     * Creates a deep copy of this state.
+     *
+     * <p>The copy shares nothing mutable with this state, so it can be handed to another thread
+     * (e.g. a render thread) while this state keeps changing. It keeps the tile journal
+     * ({@link #getTileVersion()}, {@link #changedCell(long)}) and the {@link #getBoardId() board id}.
+     *
+     * @return a new, independent game state equal to this one
+     */
+    public GameState copy() {
+        return new GameState(this);
     }
 
 
@@ -109,6 +217,16 @@ public class GameState {
      * @return the current number of lives (0 if game over)
      */
     public int getLives() { return lives; }
+    /**
+     * Gets the number of DOT tiles left on the grid (O(1), maintained by {@link #setTile}).
+     * @return the remaining DOT count
+     */
+    public int getDotsLeft() { return dotsLeft; }
+    /**
+     * Gets the number of POWER tiles left on the grid (O(1), maintained by {@link #setTile}).
+     * @return the remaining POWER count
+     */
+    public int getPowersLeft() { return powersLeft; }
 
     // ---- Helpers ----
     /**
@@ -131,7 +249,267 @@ public class GameState {
      * @return {@code true} if the position contains a wall or is out of bounds; {@code false} otherwise
      */
     public boolean isWall(int x, int y) {
-        return !inBounds(x, y) || grid[x][y] == Tile.WALL;
+        return !inBounds(x, y) || test(wallBits, x * h + y);
+    }
+    /**
+     * Checks if a cell holds a DOT (single bit test).
+     *
+     * @param x the x-coordinate to check
+     * @param y the y-coordinate to check
+     * @return {@code true} if (x,y) is in bounds and holds a DOT
+     */
+    public boolean isDot(int x, int y) {
+        return inBounds(x, y) && test(dotBits, x * h + y);
+    }
+    /**
+     * Checks if a cell holds a POWER pellet (single bit test).
+     *
+     * @param x the x-coordinate to check
+     * @param y the y-coordinate to check
+     * @return {@code true} if (x,y) is in bounds and holds a POWER pellet
+     */
+    public boolean isPower(int x, int y) {
+        return inBounds(x, y) && test(powerBits, x * h + y);
+    }
+
+    // ---- Tiles API ----
+    /**
+     * Replaces the tile at (x,y) and keeps the remaining DOT/POWER counters in sync.
+     *
+     * <p>All tile changes after construction must go through this method;
+     * writing to {@link #grid} directly bypasses the counters and tile indexes.
+     *
+     * @param x the x-coordinate (must be in bounds)
+     * @param y the y-coordinate (must be in bounds)
+     * @param t the new tile (must be non-null)
+     * @return the tile previously at (x,y)
+     */
+    public Tile setTile(int x, int y, Tile t) {
+        Tile old = changeTile(x, y, t);
+        if (old != t) pushUndo(x * h + y, old);
+        return old;
+    }
+
+    /** Applies a tile change (counters, bitsets, journal) without recording it for undo. */
+    private Tile changeTile(int x, int y, Tile t) {
+        Tile old = grid[x][y];
+        if (old == t) return old;
+        if (old == Tile.DOT) dotsLeft--;
+        else if (old == Tile.POWER) powersLeft--;
+        if (t == Tile.DOT) dotsLeft++;
+        else if (t == Tile.POWER) powersLeft++;
+        int c = x * h + y;
+        setBit(c, old, false);
+        setBit(c, t, true);
+        grid[x][y] = t;
+        tileLog[(int) (tileVersion % TILE_LOG)] = c;
+        tileVersion++;
+        return old;
+    }
+    /**
+     * Gets the number of tile changes made through {@link #setTile} so far.
+     *
+     * <p>Incremental consumers (e.g. a renderer) remember this version and later ask
+     * {@link #changedCell(long)} for every change since then.
+     *
+     * @return the tile version (starts at 0, grows by one per effective change)
+     */
+    public long getTileVersion() { return tileVersion; }
+
+    private void pushUndo(int c, Tile old) {
+        if (undoTop == undoCell.length) {
+            int n = undoTop * 2;
+            undoCell = Arrays.copyOf(undoCell, n);
+            undoOld = Arrays.copyOf(undoOld, n);
+            undoStamp = Arrays.copyOf(undoStamp, n);
+        }
+        undoCell[undoTop] = c;
+        undoOld[undoTop] = old;
+        undoStamp[undoTop] = ++undoPushes;
+        undoTop++;
+    }
+    /**
+     * Gets the identity of this state's board, shared by the state and all its {@link #copy() copies}.
+     *
+     * <p>Tile versions of states with the same board id form one history, so an incremental
+     * consumer can follow a stream of copies as if it were watching the original state.
+     *
+     * @return an opaque identity object
+     */
+    public Object getBoardId() { return boardId; }
+    /**
+     * Gets the cell touched by a past tile change. Only the most recent 1024 changes are retained.
+     *
+     * @param version the change number, in [0, {@link #getTileVersion()})
+     * @return the flat cell index ({@code x*h+y}) of that change, or -1 if it is no longer retained
+     *         or has not happened yet
+     */
+    public int changedCell(long version) {
+        if (version < 0 || version >= tileVersion || version < tileVersion - TILE_LOG) return -1;
+        return tileLog[(int) (version % TILE_LOG)];
+    }
+
+    // ---- Snapshot / restore ----
+    /**
+     * A saved point of a game state, for search-based AIs that simulate ahead and roll back.
+     *
+     * <p>A snapshot is compact: it holds the scalar game fields and the ghost arrays, but not the
+     * board. Board changes are undone from the state's undo stack of {@link #setTile} changes, so
+     * restoring costs O(tile changes since the snapshot + ghosts).
+     *
+     * <p>A snapshot belongs to the state that made it and may be restored any number of times,
+     * until a restore to an older snapshot discards the tile history it depends on.
+     */
+    public static final class Snapshot {
+        private final GameState owner;
+        private final int pacX, pacY, score, lives, powerTicksLeft;
+        private final boolean done;
+        private final Direction pacDir;
+        private final int[] ghostX, ghostY, ghostDir;
+        private final long[] ghostEatable;
+        private final int undoTop;
+        private final long undoStamp;
+
+        private Snapshot(GameState s) {
+            owner = s;
+            pacX = s.pacX;
+            pacY = s.pacY;
+            score = s.score;
+            lives = s.lives;
+            powerTicksLeft = s.powerTicksLeft;
+            done = s.done;
+            pacDir = s.pacDir;
+            int n = s.ghosts.size;
+            ghostX = Arrays.copyOf(s.ghosts.x, n);
+            ghostY = Arrays.copyOf(s.ghosts.y, n);
+            ghostDir = Arrays.copyOf(s.ghosts.dir, n);
+            ghostEatable = s.ghosts.eatable.toLongArray();
+            undoTop = s.undoTop;
+            undoStamp = (undoTop == 0) ? 0 : s.undoStamp[undoTop - 1];
+        }
+    }
+
+    /**
+     * Saves the current game point (Pac-Man, score, lives, power timer, ghosts, and the board
+     * through the tile undo stack). The UI flag {@link #aiEnabled} is not part of a snapshot.
+     *
+     * <p>Every tile change is kept on the undo stack, so the stack grows by one entry per
+     * {@link #setTile} change (bounded by the pickups of a level in a normal game) and shrinks
+     * on {@link #restore}.
+     *
+     * @return a snapshot that {@link #restore(Snapshot)} can return this state to
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Returns this state to a snapshot: tile changes since it are undone (newest first) and the
+     * game fields and ghosts are set back. Undone tiles are journaled like any other change, so
+     * incremental consumers of {@link #getTileVersion()} stay correct.
+     *
+     * @param snap a snapshot made by this state
+     * @throws IllegalArgumentException if snap is null or was made by another state
+     * @throws IllegalStateException if ghosts were added or removed since the snapshot, or the tile history
+     *         it depends on was discarded by restoring an older snapshot
+     */
+    public void restore(Snapshot snap) {
+        if (snap == null || snap.owner != this) throw new IllegalArgumentException("snapshot of another state");
+        if (snap.ghostX.length != ghosts.size) throw new IllegalStateException("ghosts were added or removed since the snapshot");
+        boolean historyKept = snap.undoTop <= undoTop && (snap.undoTop == 0 || undoStamp[snap.undoTop - 1] == snap.undoStamp);
+        if (!historyKept) throw new IllegalStateException("snapshot is no longer restorable");
+
+        while (undoTop > snap.undoTop) {
+            undoTop--;
+            int c = undoCell[undoTop];
+            changeTile(c / h, c % h, undoOld[undoTop]);
+            undoOld[undoTop] = null;
+        }
+
+        pacX = snap.pacX;
+        pacY = snap.pacY;
+        score = snap.score;
+        lives = snap.lives;
+        powerTicksLeft = snap.powerTicksLeft;
+        done = snap.done;
+        pacDir = snap.pacDir;
+
+        for (int i = 0; i < ghosts.size; i++) {
+            moveGhost(i, snap.ghostX[i], snap.ghostY[i]);
+            boolean e = (i >>> 6) < snap.ghostEatable.length && (snap.ghostEatable[i >>> 6] & (1L << i)) != 0;
+            setGhostEatable(i, e);
+            ghosts.dir[i] = snap.ghostDir[i];
+        }
+    }
+
+    // ---- Packed tile bitsets ----
+    /**
+     * Checks whether any DOT remains by scanning the DOT bitset a word (64 cells) at a time.
+     *
+     * <p>Agrees with {@code getDotsLeft() > 0}; useful as an independent check of the counter.
+     *
+     * @return {@code true} if at least one DOT bit is set
+     */
+    public boolean anyDotsLeft() {
+        for (long word : dotBits) if (word != 0) return true;
+        return false;
+    }
+    /**
+     * Counts the remaining DOT tiles by popcount over the DOT bitset (O(cells/64)).
+     *
+     * @return the number of DOT tiles on the grid
+     */
+    public int countDots() {
+        return popcount(dotBits);
+    }
+    /**
+     * Counts the remaining POWER tiles by popcount over the POWER bitset (O(cells/64)).
+     *
+     * @return the number of POWER tiles on the grid
+     */
+    public int countPowers() {
+        return popcount(powerBits);
+    }
+    /**
+     * Finds the first DOT cell at or after a flat cell index, skipping empty 64-cell words.
+     *
+     * @param fromCell the flat index ({@code x*h+y}) to start from
+     * @return the flat index of the next DOT cell, or -1 if there is none
+     */
+    public int nextDotCell(int fromCell) {
+        return nextSetBit(dotBits, fromCell, w * h);
+    }
+
+    private void setBit(int c, Tile t, boolean on) {
+        long[] bits = (t == Tile.WALL) ? wallBits : (t == Tile.DOT) ? dotBits : (t == Tile.POWER) ? powerBits : null;
+        if (bits == null) return;
+        if (on) bits[c >>> 6] |= 1L << c;
+        else bits[c >>> 6] &= ~(1L << c);
+    }
+
+    private static boolean test(long[] bits, int c) {
+        return (bits[c >>> 6] & (1L << c)) != 0;
+    }
+
+    private static int popcount(long[] bits) {
+        int n = 0;
+        for (long word : bits) n += Long.bitCount(word);
+        return n;
+    }
+
+    private static int nextSetBit(long[] bits, int from, int cells) {
+        if (from < 0) from = 0;
+        if (from >= cells) return -1;
+        int i = from >>> 6;
+        long word = bits[i] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int c = (i << 6) + Long.numberOfTrailingZeros(word);
+                return c < cells ? c : -1;
+            }
+            if (++i == bits.length) return -1;
+            word = bits[i];
+        }
     }
 
     // ---- Score / lives API ----
@@ -158,20 +536,24 @@ public class GameState {
     /**
      * Gets an unmodifiable list of all active ghosts.
      *
+     * <p>The list is a live view (no copy is made); its elements are the ghosts passed to
+     * {@link #addGhost(Ghost)}, in order.
+     *
      * @return a list of all ghosts in the game
      */
     public List<Ghost> getGhosts() {
-        return Collections.unmodifiableList(ghosts);
+        return ghostList;
     }
 
     /**
      * Registers a ghost and its spawn point for the game.
      *
      * <p>The ghost's initial position is recorded as its spawn point for later resets.
-     * The ghost must not be placed on a wall.
+     * The ghost must not be placed on a wall. From now on the ghost object is a view on this
+     * state's ghost arrays.
      *
      * @param g the ghost to add
-     * @throws IllegalArgumentException if g is null or placed on a wall/out of bounds
+     * @throws IllegalArgumentException if g is null, placed on a wall/out of bounds, or already added
      */
     public void addGhost(Ghost g) {
         if (g == null) {
@@ -180,8 +562,147 @@ public class GameState {
         if (isWall(g.x(), g.y())) {
             throw new IllegalArgumentException("ghost spawn is on wall/out of bounds: (" + g.x() + "," + g.y() + ")");
         }
-        ghosts.add(g);
-        ghostSpawns.add(new Index2D(g.x(), g.y()));
+        if (g.owner == this) {
+            throw new IllegalArgumentException("ghost already added");
+        }
+        if (g.owner != null) {
+            throw new IllegalArgumentException("ghost already belongs to another game state");
+        }
+        Direction d = (g.dir() == null) ? Direction.STAY : g.dir();
+        g.index = ghosts.add(g, g.x(), g.y(), d, g.isEatable());
+        g.owner = this;
+        index(g.x(), g.y(), g.isEatable(), +1);
+    }
+
+    /**
+     * Removes the most recently added ghosts, keeping the first {@code count}.
+     *
+     * <p>A removed ghost object is detached again: it keeps its last position, direction and
+     * eatable flag, and may be added to a state later.
+     *
+     * @param count the number of ghosts to keep
+     * @throws IllegalArgumentException if count is negative or greater than {@link #getGhostCount()}
+     */
+    public void truncateGhosts(int count) {
+        if (count < 0 || count > ghosts.size) {
+            throw new IllegalArgumentException("count must be in [0," + ghosts.size + "]: " + count);
+        }
+        for (int i = ghosts.size - 1; i >= count; i--) {
+            int gx = ghosts.x[i], gy = ghosts.y[i];
+            boolean e = ghosts.eatable.get(i);
+            Direction d = ghosts.dir(i);
+            index(gx, gy, e, -1);
+
+            Ghost g = ghosts.views[i];
+            g.owner = null;
+            g.index = -1;
+            g.setPos(gx, gy);
+            g.setDir(d);
+            g.setEatable(e);
+            ghosts.views[i] = null;
+            ghosts.eatable.clear(i);
+        }
+        ghosts.size = count;
+    }
+
+    /** @return the number of ghosts */
+    public int getGhostCount() { return ghosts.size; }
+
+    /**
+     * @param i the ghost index, in [0, {@link #getGhostCount()})
+     * @return the ghost object (view) of slot i
+     */
+    public Ghost ghost(int i) { return ghosts.views[checkGhost(i)]; }
+
+    /** @return the x-coordinate of ghost i */
+    public int ghostX(int i) { return ghosts.x[checkGhost(i)]; }
+
+    /** @return the y-coordinate of ghost i */
+    public int ghostY(int i) { return ghosts.y[checkGhost(i)]; }
+
+    /** @return the direction of ghost i */
+    public Direction ghostDir(int i) { return ghosts.dir(checkGhost(i)); }
+
+    /** @return {@code true} if ghost i is eatable */
+    public boolean isGhostEatable(int i) { return ghosts.eatable.get(checkGhost(i)); }
+
+    /**
+     * Sets the direction of ghost i.
+     *
+     * @param i the ghost index
+     * @param d the direction ({@code null} is stored as {@link Direction#STAY})
+     */
+    public void setGhostDir(int i, Direction d) {
+        ghosts.dir[checkGhost(i)] = (d == null) ? Direction.STAY.ordinal() : d.ordinal();
+    }
+
+    /**
+     * Moves ghost i, keeping the occupancy index in sync.
+     *
+     * @param i the ghost index
+     * @param x the new x-coordinate
+     * @param y the new y-coordinate
+     */
+    public void moveGhost(int i, int x, int y) {
+        checkGhost(i);
+        boolean e = ghosts.eatable.get(i);
+        index(ghosts.x[i], ghosts.y[i], e, -1);
+        ghosts.x[i] = x;
+        ghosts.y[i] = y;
+        index(x, y, e, +1);
+    }
+
+    /**
+     * Sets the eatable flag of ghost i, keeping the danger index in sync.
+     *
+     * @param i the ghost index
+     * @param v the new flag
+     */
+    public void setGhostEatable(int i, boolean v) {
+        if (ghosts.eatable.get(checkGhost(i)) == v) return;
+        ghosts.eatable.set(i, v);
+        int gx = ghosts.x[i], gy = ghosts.y[i];
+        if (inBounds(gx, gy)) dangerCount[gx * h + gy] += v ? -1 : 1;
+    }
+
+    private int checkGhost(int i) {
+        if (i < 0 || i >= ghosts.size) throw new IndexOutOfBoundsException("ghost index " + i + " of " + ghosts.size);
+        return i;
+    }
+
+    /** Read-only, allocation-free list view of the ghost objects. */
+    private final class GhostList extends AbstractList<Ghost> implements RandomAccess {
+        @Override public Ghost get(int i) { return ghost(i); }
+        @Override public int size() { return ghosts.size; }
+    }
+
+    // ---- Ghost occupancy index ----
+    /**
+     * Counts the ghosts standing on a cell (O(1)).
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the number of ghosts at (x,y); 0 if out of bounds
+     */
+    public int ghostCountAt(int x, int y) {
+        return inBounds(x, y) ? ghostCount[x * h + y] : 0;
+    }
+    /**
+     * Checks whether a non-eatable ("danger") ghost stands on a cell (O(1)).
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return {@code true} if at least one non-eatable ghost is at (x,y)
+     */
+    public boolean isDangerGhostAt(int x, int y) {
+        return inBounds(x, y) && dangerCount[x * h + y] > 0;
+    }
+
+    private void index(int x, int y, boolean eatable, int delta) {
+        if (!inBounds(x, y)) return;
+        int c = x * h + y;
+        ghostCount[c] += delta;
+        if (!eatable) dangerCount[c] += delta;
     }
 
     // ---- Reset/respawn ----
@@ -199,27 +720,22 @@ public class GameState {
         pacY = pacSpawnY;
 
         // Ghosts back to their spawn points, not eatable
-        for (int i = 0; i < ghosts.size(); i++) {
-            Ghost g = ghosts.get(i);
-            Index2D sp = ghostSpawns.get(i);
-            g.setPos(sp.getX(), sp.getY());
-            g.setEatable(isPowerMode());
-            g.setDir(Direction.STAY);
-        }
+        boolean power = isPowerMode();
+        for (int i = 0; i < ghosts.size; i++) respawn(i, power);
     }
 
+    /**
+     * Sends a ghost back to its spawn point (O(1)), eatable only if power mode is on.
+     *
+     * @param g the ghost; a ghost of another state only gets its flag and direction reset
+     */
     public void respawnGhost(Ghost g) {
         if (g == null) return;
 
         // Put ghost on its original spawn if registered
-        for (int i = 0; i < ghosts.size(); i++) {
-            if (ghosts.get(i) == g) {
-                Index2D sp = ghostSpawns.get(i);
-                g.setPos(sp.getX(), sp.getY());
-                g.setEatable(isPowerMode());
-                g.setDir(Direction.STAY);
-                return;
-            }
+        if (g.owner == this) {
+            respawn(g.index, isPowerMode());
+            return;
         }
 
         // Fallback: still ensure it's not eatable and doesn't keep direction
@@ -227,6 +743,12 @@ public class GameState {
         g.setDir(Direction.STAY);
     }
 
+    private void respawn(int i, boolean eatable) {
+        moveGhost(i, ghosts.spawnX[i], ghosts.spawnY[i]);
+        setGhostEatable(i, eatable);
+        ghosts.dir[i] = Direction.STAY.ordinal();
+    }
+
     /**
      * Handles collision between Pac-Man and a ghost.
      *
@@ -261,10 +783,7 @@ public class GameState {
         if (ticks <= 0) return;
 
         powerTicksLeft = Math.max(powerTicksLeft, ticks);
-
-        for (Ghost g : ghosts) {
-            g.setEatable(true);
-        }
+        setAllEatable(true);
     }
     /**
      * Advances power mode timer by one tick.
@@ -277,11 +796,21 @@ public class GameState {
 
         powerTicksLeft--;
 
-        if (powerTicksLeft == 0) {
-            for (Ghost g : ghosts) {
-                g.setEatable(false);
-            }
+        if (powerTicksLeft == 0) setAllEatable(false);
+    }
+
+    /** Flips every ghost whose eatable flag differs from {@code v}, keeping the danger index in sync. */
+    private void setAllEatable(boolean v) {
+        int n = ghosts.size;
+        int[] gx = ghosts.x, gy = ghosts.y;
+        int delta = v ? -1 : 1;
+        for (int i = v ? ghosts.eatable.nextClearBit(0) : ghosts.eatable.nextSetBit(0);
+             i >= 0 && i < n;
+             i = v ? ghosts.eatable.nextClearBit(i + 1) : ghosts.eatable.nextSetBit(i + 1)) {
+            if (inBounds(gx[i], gy[i])) dangerCount[gx[i] * h + gy[i]] += delta;
         }
+        if (v) ghosts.eatable.set(0, n);
+        else ghosts.eatable.clear();
     }
     public boolean isPowerMode() {
         return powerTicksLeft > 0;
@@ -14,6 +14,11 @@ package assignments.Ex3.model;
  *   <li>Movement is controlled by the game's AI/collision system</li>
  * </ul>
  *
+ * <p>A new ghost keeps its own position, direction and eatable flag. Once added to a
+ * {@link GameState} it becomes a view on a slot of the state's structure-of-arrays ghost store:
+ * every read and write goes to the state's arrays (keeping its occupancy index in sync), and the
+ * position and direction inherited from {@link Entity} are no longer used.
+ *
  * @author Lidor Ayhoni
  * @version 1.0
  * @since 1.0
@@ -21,7 +26,12 @@ package assignments.Ex3.model;
  * @see GameState
  */
 public class Ghost extends Entity {
-    private boolean eatable = false;
+    private boolean eatable = false;    // used only while detached
+
+    /** The game state that stores this ghost (set by {@link GameState#addGhost}), or null. */
+    GameState owner;
+    /** This ghost's slot in the owner's ghost store. */
+    int index = -1;
 
     /**
      * Constructs a ghost at the specified grid position.
@@ -38,12 +48,44 @@ public class Ghost extends Entity {
      *
      * @return {@code true} if the ghost is in an eatable state; {@code false} otherwise
      */
-    public boolean isEatable() { return eatable; }
+    public boolean isEatable() {
+        return (owner == null) ? eatable : owner.isGhostEatable(index);
+    }
 
     /**
      * Sets the eatable state of this ghost.
      *
      * @param v {@code true} to make the ghost eatable; {@code false} otherwise
      */
-    public void setEatable(boolean v) { this.eatable = v; }
-}
\ No newline at end of file
+    public void setEatable(boolean v) {
+        if (owner == null) eatable = v;
+        else owner.setGhostEatable(index, v);
+    }
+
+    @Override
+    public int x() {
+        return (owner == null) ? super.x() : owner.ghostX(index);
+    }
+
+    @Override
+    public int y() {
+        return (owner == null) ? super.y() : owner.ghostY(index);
+    }
+
+    @Override
+    public Direction dir() {
+        return (owner == null) ? super.dir() : owner.ghostDir(index);
+    }
+
+    @Override
+    public void setDir(Direction d) {
+        if (owner == null) super.setDir(d);
+        else owner.setGhostDir(index, d);
+    }
+
+    @Override
+    public void setPos(int x, int y) {
+        if (owner == null) super.setPos(x, y);
+        else owner.moveGhost(index, x, y);
+    }
+}
@@ -1,8 +1,9 @@
 package assignments.Ex3.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import assignments.Ex3.ThreatField;
+
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Ghost movement: mostly random, with a slight bias to "try to eat Pac-Man".
@@ -12,108 +13,204 @@ import java.util.Random;
  * - prefers to keep direction if possible
  * - avoids reverse if there are other options
  * - adds a small bias toward Pac-Man (classic Pac-Man feel, not full chasing/BFS)
+ *
+ * The decision works on a 4-bit mask of legal moves (bit i = {@code DIRS[i]}) and a fixed weight
+ * table, so choosing a move allocates nothing. For a given random source it makes exactly the
+ * same choices (and random draws) as the original list-based version.
+ *
+ * The "toward Pac-Man" step depends on the {@link Pursuit} mode: straight-line (Manhattan) distance
+ * by default, or a flow field (one BFS from Pac-Man's cell, shared by all ghosts) that follows the
+ * real path around walls.
  */
 public class GhostMovement {
 
-    private final Random rnd = new Random();
+    /** How a ghost picks its "toward Pac-Man" step. */
+    public enum Pursuit {
+        /** The legal step with the smallest Manhattan distance to Pac-Man (ignores walls). */
+        MANHATTAN,
+        /**
+         * The legal step with the smallest BFS path length to Pac-Man. The distance field is built
+         * once per Pac-Man position / tile change and read in O(1) by every ghost.
+         */
+        FLOW_FIELD
+    }
+
+    private final RandomGenerator rnd;
+    private Pursuit pursuit = Pursuit.MANHATTAN;
+
+    // Flow field: BFS distances from Pac-Man, valid for (fieldState, fieldPacX/Y, fieldVersion)
+    private final ThreatField flow = new ThreatField();
+    private GameState fieldState;
+    private int fieldPacX, fieldPacY;
+    private long fieldVersion;
+
+    /** Creates a ghost movement policy with an unseeded random source. */
+    public GhostMovement() {
+        this(new Random());
+    }
+
+    /**
+     * Creates a ghost movement policy whose choices are reproducible for a given seed.
+     *
+     * @param seed the random seed
+     */
+    public GhostMovement(long seed) {
+        this(new Random(seed));
+    }
+
+    /**
+     * Creates a ghost movement policy drawing from the given random source.
+     *
+     * @param rnd the random source (must be non-null), e.g. a seeded {@link Random} or
+     *            {@code RandomGenerator.of("L64X128MixRandom")}
+     * @throws IllegalArgumentException if rnd is null
+     */
+    public GhostMovement(RandomGenerator rnd) {
+        if (rnd == null) throw new IllegalArgumentException("rnd is null");
+        this.rnd = rnd;
+    }
+
+    /**
+     * Sets the pursuit mode.
+     *
+     * @param pursuit the mode (must be non-null)
+     * @throws IllegalArgumentException if pursuit is null
+     */
+    public void setPursuit(Pursuit pursuit) {
+        if (pursuit == null) throw new IllegalArgumentException("pursuit is null");
+        this.pursuit = pursuit;
+    }
+
+    /** @return the pursuit mode (default {@link Pursuit#MANHATTAN}) */
+    public Pursuit getPursuit() {
+        return pursuit;
+    }
 
     // Tuning knobs (feel free to tweak)
     private static final int WEIGHT_FORWARD = 6;   // strong preference to keep direction
     private static final int WEIGHT_TOWARD_PAC = 3; // mild bias toward Pac-Man
     private static final int WEIGHT_OTHER = 1;     // base weight for any legal move
 
+    /** Candidate moves in evaluation order; the reverse of {@code DIRS[i]} is {@code DIRS[i ^ 1]}. */
+    private static final Direction[] DIRS = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+
+    /** Weight of a legal move, indexed by [keeps current direction][is the step toward Pac-Man]. */
+    private static final int[][] WEIGHT = {
+            {WEIGHT_OTHER, WEIGHT_OTHER + WEIGHT_TOWARD_PAC},
+            {WEIGHT_OTHER + WEIGHT_FORWARD, WEIGHT_OTHER + WEIGHT_FORWARD + WEIGHT_TOWARD_PAC}
+    };
+
     public Direction chooseNext(Ghost g, GameState s) {
         if (g == null) return Direction.STAY;
+        int gx = g.x(), gy = g.y();
 
         // Collect legal moves
-        List<Direction> legal = new ArrayList<>(4);
-        for (Direction d : new Direction[]{Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT}) {
-            int nx = g.x() + d.dx;
-            int ny = g.y() + d.dy;
-            if (!s.isWall(nx, ny)) {
-                legal.add(d);
-            }
+        int legal = 0;
+        for (int i = 0; i < 4; i++) {
+            if (!s.isWall(gx + DIRS[i].dx, gy + DIRS[i].dy)) legal |= 1 << i;
         }
-        if (legal.isEmpty()) return Direction.STAY;
+        if (legal == 0) return Direction.STAY;
 
         // If only one option, take it
-        if (legal.size() == 1) return legal.get(0);
+        if (Integer.bitCount(legal) == 1) return DIRS[Integer.numberOfTrailingZeros(legal)];
 
         // Avoid reverse if possible
-        Direction current = g.dir();
-        Direction rev = reverse(current);
-        if (rev != Direction.STAY && legal.size() > 1) {
-            legal.remove(rev);
+        int cur = indexOf(g.dir());
+        if (cur >= 0) {
+            legal &= ~(1 << (cur ^ 1));
             // if we removed and now only one left
-            if (legal.size() == 1) return legal.get(0);
+            if (Integer.bitCount(legal) == 1) return DIRS[Integer.numberOfTrailingZeros(legal)];
         }
 
         // Weighted random selection
-        Direction bestTowardPac = bestStepTowardPacman(g, s, legal);
+        int toward = (pursuit == Pursuit.FLOW_FIELD)
+                ? bestStepAlongFlow(gx, gy, s, legal)
+                : bestStepTowardPacman(gx, gy, s, legal);
 
         int total = 0;
-        int[] weights = new int[legal.size()];
-
-        for (int i = 0; i < legal.size(); i++) {
-            Direction d = legal.get(i);
-
-            int w = WEIGHT_OTHER;
-
-            // prefer continuing direction
-            if (current != null && d == current) w += WEIGHT_FORWARD;
-
-            // mild bias toward pacman
-            if (bestTowardPac != null && d == bestTowardPac) w += WEIGHT_TOWARD_PAC;
-
-            weights[i] = w;
-            total += w;
+        for (int m = legal; m != 0; m &= m - 1) {
+            total += weight(Integer.numberOfTrailingZeros(m), cur, toward);
         }
 
         int r = rnd.nextInt(total);
-        for (int i = 0; i < legal.size(); i++) {
-            r -= weights[i];
-            if (r < 0) return legal.get(i);
+        for (int m = legal; ; m &= m - 1) {
+            int i = Integer.numberOfTrailingZeros(m);
+            r -= weight(i, cur, toward);
+            if (r < 0) return DIRS[i];
         }
+    }
 
-        // fallback
-        return legal.get(rnd.nextInt(legal.size()));
+    /** @return the weight of legal move {@code i} given the current and Pac-Man-ward move indexes */
+    private static int weight(int i, int cur, int toward) {
+        return WEIGHT[i == cur ? 1 : 0][i == toward ? 1 : 0];
     }
 
     /**
-     * Chooses which one-step move (from legal list) reduces Manhattan distance to Pac-Man the most.
-     * Returns null if we can't evaluate.
+     * Chooses which one-step move (from the legal mask) reduces Manhattan distance to Pac-Man the most
+     * (first in {@code DIRS} order on ties). Returns -1 if the mask is empty.
      */
-    private Direction bestStepTowardPacman(Ghost g, GameState s, List<Direction> legal) {
-        // We assume GameState has pacX/pacY fields (your renderer uses s.pacX/s.pacY)
+    private static int bestStepTowardPacman(int gx, int gy, GameState s, int legal) {
         int px = s.pacX;
         int py = s.pacY;
 
-        int gx = g.x();
-        int gy = g.y();
-
         int bestDist = Integer.MAX_VALUE;
-        Direction best = null;
+        int best = -1;
 
-        for (Direction d : legal) {
-            int nx = gx + d.dx;
-            int ny = gy + d.dy;
-            int dist = Math.abs(nx - px) + Math.abs(ny - py);
+        for (int m = legal; m != 0; m &= m - 1) {
+            int i = Integer.numberOfTrailingZeros(m);
+            int dist = Math.abs(gx + DIRS[i].dx - px) + Math.abs(gy + DIRS[i].dy - py);
             if (dist < bestDist) {
                 bestDist = dist;
-                best = d;
+                best = i;
             }
         }
         return best;
     }
 
-    private static Direction reverse(Direction d) {
-        if (d == null) return Direction.STAY;
+    /**
+     * Chooses the legal move whose target cell is closest to Pac-Man by path length (first in
+     * {@code DIRS} order on ties). Returns -1 if Pac-Man is unreachable from every legal move.
+     */
+    private int bestStepAlongFlow(int gx, int gy, GameState s, int legal) {
+        ensureFlowField(s);
+
+        int bestDist = ThreatField.UNREACHABLE;
+        int best = -1;
+
+        for (int m = legal; m != 0; m &= m - 1) {
+            int i = Integer.numberOfTrailingZeros(m);
+            int dist = flow.dist(gx + DIRS[i].dx, gy + DIRS[i].dy);
+            if (dist < bestDist) {
+                bestDist = dist;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /** Rebuilds the flow field if Pac-Man moved, a tile changed or the state is a different one. */
+    private void ensureFlowField(GameState s) {
+        if (s == fieldState && s.pacX == fieldPacX && s.pacY == fieldPacY && s.getTileVersion() == fieldVersion) return;
+
+        flow.begin(s.w, s.h, false, (x, y) -> !s.isWall(x, y));
+        flow.addSource(s.pacX, s.pacY);
+        flow.propagate();
+
+        fieldState = s;
+        fieldPacX = s.pacX;
+        fieldPacY = s.pacY;
+        fieldVersion = s.getTileVersion();
+    }
+
+    /** @return the index of d in {@link #DIRS}, or -1 for STAY/null */
+    private static int indexOf(Direction d) {
+        if (d == null) return -1;
         return switch (d) {
-            case UP -> Direction.DOWN;
-            case DOWN -> Direction.UP;
-            case LEFT -> Direction.RIGHT;
-            case RIGHT -> Direction.LEFT;
-            default -> Direction.STAY;
+            case UP -> 0;
+            case DOWN -> 1;
+            case LEFT -> 2;
+            case RIGHT -> 3;
+            default -> -1;
         };
     }
 }
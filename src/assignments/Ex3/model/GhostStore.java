@@ -0,0 +1,92 @@
+package assignments.Ex3.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Structure-of-arrays storage of a game's ghosts, owned by {@link GameState}.
+ *
+ * <p>Ghost {@code i} is described by slot {@code i} of parallel primitive arrays:
+ * <ul>
+ *   <li><b>Position:</b> {@code x[i]}, {@code y[i]}</li>
+ *   <li><b>Direction:</b> {@code dir[i]} ({@link Direction} ordinal)</li>
+ *   <li><b>Spawn point:</b> {@code spawnX[i]}, {@code spawnY[i]}</li>
+ *   <li><b>Eatable:</b> bit {@code i} of {@link #eatable}</li>
+ * </ul>
+ * Whole-swarm operations (power on/off, reset, collision scans) are plain loops over these arrays.
+ * The {@link Ghost} objects handed out by the state are views on a slot ({@code views[i]}).
+ *
+ * <p>Arrays grow by doubling; slots are never removed. The store does no validation and does not
+ * maintain the state's occupancy index; {@link GameState} does both.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see GameState
+ * @see Ghost
+ */
+final class GhostStore {
+
+    static final Direction[] DIRECTIONS = Direction.values();
+
+    int size;
+    int[] x = new int[4], y = new int[4], dir = new int[4];
+    int[] spawnX = new int[4], spawnY = new int[4];
+    final BitSet eatable = new BitSet();
+    Ghost[] views = new Ghost[4];
+
+    /**
+     * Appends a slot.
+     *
+     * @param view the ghost object that views the new slot
+     * @param gx the x-coordinate (also the spawn x)
+     * @param gy the y-coordinate (also the spawn y)
+     * @param d the direction
+     * @param e the eatable flag
+     * @return the index of the new slot
+     */
+    int add(Ghost view, int gx, int gy, Direction d, boolean e) {
+        if (size == x.length) grow();
+        int i = size++;
+        x[i] = gx;
+        y[i] = gy;
+        dir[i] = d.ordinal();
+        spawnX[i] = gx;
+        spawnY[i] = gy;
+        eatable.set(i, e);
+        views[i] = view;
+        return i;
+    }
+
+    /** @return the direction of slot {@code i} */
+    Direction dir(int i) {
+        return DIRECTIONS[dir[i]];
+    }
+
+    /**
+     * Copies the arrays of another store (not its views).
+     *
+     * @param src the store to copy
+     */
+    void copyArraysFrom(GhostStore src) {
+        size = src.size;
+        x = src.x.clone();
+        y = src.y.clone();
+        dir = src.dir.clone();
+        spawnX = src.spawnX.clone();
+        spawnY = src.spawnY.clone();
+        eatable.clear();
+        eatable.or(src.eatable);
+        views = new Ghost[src.views.length];
+    }
+
+    private void grow() {
+        int n = x.length * 2;
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        dir = Arrays.copyOf(dir, n);
+        spawnX = Arrays.copyOf(spawnX, n);
+        spawnY = Arrays.copyOf(spawnY, n);
+        views = Arrays.copyOf(views, n);
+    }
+}
@@ -0,0 +1,156 @@
+package assignments.Ex3.render;
+
+import assignments.Ex3.model.GameState;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link Renderer} that draws on its own thread, so drawing cost never stretches a game tick.
+ *
+ * <p>The pipeline has two sides:
+ * <ul>
+ *   <li><b>Publisher (game loop):</b> {@link #render(GameState)} takes a {@link GameState#copy() copy}
+ *       of the state and puts it into a single slot. If the previous frame was not drawn yet it is
+ *       replaced (latest frame wins), so the loop never waits for the render thread.</li>
+ *   <li><b>Render thread:</b> takes the newest frame out of the slot, draws it with the wrapped
+ *       renderer, and then waits for the next frame period (or a new frame).</li>
+ * </ul>
+ * The slot is an {@link AtomicReference}; neither side takes a lock. A published copy is never
+ * touched by the game loop again, so the render thread reads it without synchronization.
+ *
+ * <p>{@link #init(int, int, int)} runs on the caller's thread, before the render thread starts.
+ * {@link #close()} draws the last published frame and stops the thread. A failure of the wrapped
+ * renderer stops the render thread and is rethrown by the next {@code render} or {@code close}.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Renderer
+ * @see StdDrawRenderer
+ */
+public class AsyncRenderer implements Renderer, AutoCloseable {
+
+    private final Renderer target;
+    private final long framePeriodNs;
+
+    private final AtomicReference<GameState> slot = new AtomicReference<>();
+    private final Thread thread;
+    private volatile boolean closing = false;
+    private volatile RuntimeException failure;
+
+    private volatile long published, dropped, drawn;
+
+    /**
+     * Constructs an asynchronous renderer drawing at most {@code maxFps} frames per second.
+     *
+     * @param target the renderer that draws the frames (used only by the render thread after init)
+     * @param maxFps the maximum frame rate of the render thread
+     * @throws IllegalArgumentException if target is null or maxFps is not positive
+     */
+    public AsyncRenderer(Renderer target, int maxFps) {
+        if (target == null) throw new IllegalArgumentException("target is null");
+        if (maxFps <= 0) throw new IllegalArgumentException("maxFps must be positive");
+        this.target = target;
+        this.framePeriodNs = 1_000_000_000L / maxFps;
+        this.thread = new Thread(this::drawLoop, "render");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Initializes the wrapped renderer on the calling thread and starts the render thread.
+     *
+     * @param pixels the pixel size of each grid cell in the display
+     * @param gridW the width of the game grid in cells
+     * @param gridH the height of the game grid in cells
+     * @throws IllegalStateException if the renderer was already initialized
+     */
+    @Override
+    public void init(int pixels, int gridW, int gridH) {
+        if (thread.getState() != Thread.State.NEW) throw new IllegalStateException("already initialized");
+        target.init(pixels, gridW, gridH);
+        thread.start();
+    }
+
+    /**
+     * Publishes a copy of the state as the next frame. Never blocks on drawing.
+     *
+     * @param s the current game state
+     * @throws IllegalStateException if the renderer is closed
+     * @throws RuntimeException the failure of the wrapped renderer, if it failed
+     */
+    @Override
+    public void render(GameState s) {
+        rethrowFailure();
+        if (closing) throw new IllegalStateException("renderer is closed");
+
+        GameState frame = s.copy();
+        published++;
+        if (slot.getAndSet(frame) != null) dropped++;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Draws the last published frame (if not drawn yet) and stops the render thread.
+     *
+     * @throws RuntimeException the failure of the wrapped renderer, if it failed
+     */
+    @Override
+    public void close() {
+        closing = true;
+        LockSupport.unpark(thread);
+        if (thread.getState() != Thread.State.NEW) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+        rethrowFailure();
+    }
+
+    /** @return the number of frames published by {@link #render(GameState)}. */
+    public long getPublishedFrames() { return published; }
+
+    /** @return the number of published frames replaced before the render thread took them. */
+    public long getDroppedFrames() { return dropped; }
+
+    /** @return the number of frames drawn by the render thread. */
+    public long getDrawnFrames() { return drawn; }
+
+    /** Body of the render thread. */
+    private void drawLoop() {
+        long next = System.nanoTime();
+        while (true) {
+            GameState frame = slot.getAndSet(null);
+            if (frame == null) {
+                if (closing) return;
+                LockSupport.parkNanos(this, framePeriodNs);
+                continue;
+            }
+
+            try {
+                target.render(frame);
+            } catch (RuntimeException e) {
+                failure = e;
+                return;
+            }
+            drawn++;
+
+            // cap the frame rate; a new frame arriving early waits for the next period
+            next += framePeriodNs;
+            long now = System.nanoTime();
+            if (next < now) next = now;
+            while (!closing && (now = System.nanoTime()) < next) LockSupport.parkNanos(this, next - now);
+        }
+    }
+
+    private void rethrowFailure() {
+        RuntimeException e = failure;
+        if (e != null) throw e;
+    }
+}
@@ -6,8 +6,13 @@ import assignments.Ex3.model.Tile;
 import exe.ex3.game.StdDraw;
 
 import java.awt.Color;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 /**
  * Graphical renderer using the StdDraw library for visual output.
@@ -31,8 +36,12 @@ import java.lang.reflect.Method;
  *   <li>Background: Black</li>
  * </ul>
  *
- * <p>The renderer uses reflection to ensure compatibility with multiple versions
- * of the StdDraw library that may have different method signatures.
+ * <p>The renderer resolves StdDraw methods into cached method handles to ensure compatibility
+ * with multiple versions of the StdDraw library that may have different method signatures.
+ *
+ * <p>An optional incremental mode ({@link #StdDrawRenderer(boolean)}) draws the static board once
+ * and then repaints only the cells that changed, so a frame costs O(entities) draw calls
+ * instead of O(cells).
  *
  * @author Lidor Ayhoni
  * @version 1.0
@@ -52,6 +61,53 @@ public class StdDrawRenderer implements Renderer {
             Color.RED, Color.CYAN, Color.PINK, Color.ORANGE, Color.MAGENTA
     };
 
+    /** Assumed pixel extent of the HUD text block (widest line / one line height), used to size its dirty area. */
+    private static final int HUD_TEXT_W_PX = 200, HUD_LINE_PX = 24;
+
+    /** If {@code true}, frames after the first repaint only the cells that changed. */
+    private final boolean incremental;
+
+    // ---- incremental mode: what the offscreen buffer currently shows ----
+    private Object drawnBoard;            // board id of the last frame (null = next frame is a full redraw)
+    private long drawnVersion;            // tile version of the last frame
+    private int[] drawnEntities = new int[0];
+    private int drawnEntityCount;
+    private int hudCols, hudRows;         // HUD area (top-left), in cells
+
+    // ---- HUD accessors, resolved once per state class ----
+    private Class<?> hudClass;
+    private MethodHandle hudAiEnabled;    // (GameState)boolean, null if unavailable
+    private MethodHandle hudPowerLeft;    // (GameState)int, null if unavailable
+
+    // ---- incremental mode: per-frame dirty set ----
+    private int[] dirtyStamp = new int[0];
+    private int dirtyGen;
+    private int[] dirty = new int[64];
+    private int dirtyCount;
+
+    /**
+     * Constructs a renderer that redraws the whole board every frame.
+     */
+    public StdDrawRenderer() {
+        this(false);
+    }
+
+    /**
+     * Constructs a renderer.
+     *
+     * <p>In incremental mode the first frame draws the whole board, including the static walls.
+     * StdDraw keeps its offscreen buffer between frames, so that buffer acts as the cached wall
+     * layer: later frames repaint only the dirty cells (old and new entity cells, tiles changed
+     * through {@link GameState#setTile}, and the HUD area) and then draw the entities and HUD on top.
+     * Successive {@link GameState#copy() copies} of one state count as the same board.
+     * A new board, a resize or too many tile changes since the last frame fall back to a full redraw.
+     *
+     * @param incremental {@code true} to repaint only dirty cells after the first frame
+     */
+    public StdDrawRenderer(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     /**
      * Initializes the graphics renderer and sets up the drawing canvas.
      *
@@ -72,6 +128,13 @@ public class StdDrawRenderer implements Renderer {
         SD.setYscale(0, h);
 
         SD.enableDoubleBufferingIfExists();
+
+        double pxX = (double) pixels / w, pxY = (double) pixels / h;
+        hudCols = Math.min(w, (int) Math.ceil(HUD_TEXT_W_PX / pxX) + 1);
+        hudRows = Math.min(h, (int) Math.ceil(1.5 + HUD_LINE_PX / pxY) + 1);
+        dirtyStamp = new int[w * h];
+        dirtyGen = 0;
+        drawnBoard = null;
     }
 
     /**
@@ -79,8 +142,8 @@ public class StdDrawRenderer implements Renderer {
      *
      * <p>Rendering order:
      * <ol>
-     *   <li>Clear canvas to black</li>
-     *   <li>Draw all grid tiles (walls, dots, power pellets)</li>
+     *   <li>Clear canvas to black and draw all grid tiles (walls, dots, power pellets);
+     *       in incremental mode, after the first frame: clear and redraw only the dirty cells</li>
      *   <li>Draw Pac-Man</li>
      *   <li>Draw all ghosts with appropriate colors</li>
      *   <li>Draw HUD with score, lives, power mode, and AI status</li>
@@ -91,29 +154,14 @@ public class StdDrawRenderer implements Renderer {
      */
     @Override
     public void render(GameState s) {
-        SD.clear(Color.BLACK);
-
-        // draw tiles
-        for (int x = 0; x < w; x++) {
-            for (int y = 0; y < h; y++) {
-                Tile t = s.grid[x][y];
-
-                switch (t) {
-                    case WALL -> {
-                        SD.setPenColor(Color.DARK_GRAY);
-                        SD.filledSquare(x + 0.5, y + 0.5, 0.5);
-                    }
-                    case DOT -> {
-                        SD.setPenColor(Color.WHITE);
-                        SD.filledCircle(x + 0.5, y + 0.5, 0.10);
-                    }
-                    case POWER -> {
-                        SD.setPenColor(Color.ORANGE);
-                        SD.filledCircle(x + 0.5, y + 0.5, 0.20);
-                    }
-                    default -> {
-                    }
-                }
+        if (incremental && canRepaintDirty(s)) {
+            repaintDirtyCells(s);
+        } else {
+            SD.clear(Color.BLACK);
+
+            // draw tiles
+            for (int x = 0; x < w; x++) {
+                for (int y = 0; y < h; y++) drawTile(s.grid[x][y], x, y);
             }
         }
 
@@ -147,10 +195,10 @@ public class StdDrawRenderer implements Renderer {
         double y3 = h - 1.1;
         double y4 = h - 1.5;
 
-        int score = safeInt(() -> s.getScore(), s.score);
-        int lives = safeInt(() -> s.getLives(), -1);
+        int score = s.getScore();
+        int lives = s.getLives();
 
-        boolean power = safeBool(() -> s.isPowerMode(), false);
+        boolean power = s.isPowerMode();
         int powerLeft = getPowerTicksLeftSafe(s); // -1 if unknown
 
         String modeText = getModeTextSafe(s);
@@ -166,127 +214,197 @@ public class StdDrawRenderer implements Renderer {
 
         SD.textLeft(hudX, y4, modeText);
 
+        if (incremental) rememberFrame(s);
         SD.show();
     }
 
-    /* ================= HUD safe helpers (no compile-time dependency) ================= */
-
     /**
-     * Functional interface for safely retrieving int values via reflection.
+     * Draws one tile at cell (x,y) (nothing for EMPTY).
+     *
+     * @param t the tile
+     * @param x the cell x-coordinate
+     * @param y the cell y-coordinate
      */
-    private interface IntSupplierEx { int get() throws Exception; }
+    private static void drawTile(Tile t, int x, int y) {
+        switch (t) {
+            case WALL -> {
+                SD.setPenColor(Color.DARK_GRAY);
+                SD.filledSquare(x + 0.5, y + 0.5, 0.5);
+            }
+            case DOT -> {
+                SD.setPenColor(Color.WHITE);
+                SD.filledCircle(x + 0.5, y + 0.5, 0.10);
+            }
+            case POWER -> {
+                SD.setPenColor(Color.ORANGE);
+                SD.filledCircle(x + 0.5, y + 0.5, 0.20);
+            }
+            default -> {
+            }
+        }
+    }
 
-    /**
-     * Functional interface for safely retrieving boolean values via reflection.
-     */
-    private interface BoolSupplierEx { boolean get() throws Exception; }
+    /* ================= Incremental mode ================= */
 
     /**
-     * Safely invokes a getter function with exception handling.
-     *
-     * @param getter the getter to invoke
-     * @param fallback the value to return if getter throws an exception
-     * @return the result from getter, or fallback if an exception occurs
+     * @return {@code true} if the offscreen buffer still shows the last frame of this grid and
+     *         every tile change since then is still in the state's change journal
      */
-    private static int safeInt(IntSupplierEx getter, int fallback) {
-        try { return getter.get(); } catch (Exception ignored) { return fallback; }
+    private boolean canRepaintDirty(GameState s) {
+        if (drawnBoard != s.getBoardId() || s.w != w || s.h != h) return false;
+        long now = s.getTileVersion();
+        return drawnVersion == now || s.changedCell(drawnVersion) >= 0;
     }
 
     /**
-     * Safely invokes a getter function with exception handling.
-     *
-     * @param getter the getter to invoke
-     * @param fallback the value to return if getter throws an exception
-     * @return the result from getter, or fallback if an exception occurs
+     * Clears and redraws the dirty cells: last frame's entity cells, this frame's entity cells,
+     * cells changed since the last frame, and the HUD area. Walls next to a dirty cell are drawn
+     * again too, so clearing a cell never leaves a seam on the neighbouring wall's edge.
      */
-    private static boolean safeBool(BoolSupplierEx getter, boolean fallback) {
-        try { return getter.get(); } catch (Exception ignored) { return fallback; }
+    private void repaintDirtyCells(GameState s) {
+        if (++dirtyGen == Integer.MAX_VALUE) {
+            Arrays.fill(dirtyStamp, 0);
+            dirtyGen = 1;
+        }
+        dirtyCount = 0;
+
+        for (int i = 0; i < drawnEntityCount; i++) markDirty(drawnEntities[i]);
+        for (long v = drawnVersion, now = s.getTileVersion(); v < now; v++) markDirty(s.changedCell(v));
+        markDirty(s.pacX, s.pacY);
+        for (Ghost g : s.getGhosts()) markDirty(g.x(), g.y());
+        for (int x = 0; x < hudCols; x++) {
+            for (int y = h - hudRows; y < h; y++) markDirty(x, y);
+        }
+
+        SD.setPenColor(Color.BLACK);
+        for (int i = 0; i < dirtyCount; i++) {
+            int c = dirty[i];
+            SD.filledSquare(c / h + 0.5, c % h + 0.5, 0.5);
+        }
+        for (int i = 0; i < dirtyCount; i++) {
+            int x = dirty[i] / h, y = dirty[i] % h;
+            drawTile(s.grid[x][y], x, y);
+            redrawWall(s, x, y + 1);
+            redrawWall(s, x - 1, y);
+            redrawWall(s, x, y - 1);
+            redrawWall(s, x + 1, y);
+        }
     }
 
+    /** Redraws the wall at (x,y), if there is one that is not dirty itself (dirty cells draw their own tile). */
+    private void redrawWall(GameState s, int x, int y) {
+        if (x < 0 || y < 0 || x >= w || y >= h) return;
+        if (s.grid[x][y] != Tile.WALL || dirtyStamp[x * h + y] == dirtyGen) return;
+        drawTile(Tile.WALL, x, y);
+    }
+
+    private void markDirty(int x, int y) {
+        if (x < 0 || y < 0 || x >= w || y >= h) return;
+        markDirty(x * h + y);
+    }
+
+    private void markDirty(int c) {
+        if (c < 0 || c >= dirtyStamp.length || dirtyStamp[c] == dirtyGen) return;
+        dirtyStamp[c] = dirtyGen;
+        if (dirtyCount == dirty.length) dirty = Arrays.copyOf(dirty, dirtyCount * 2);
+        dirty[dirtyCount++] = c;
+    }
+
+    /** Records what this frame drew, so the next frame knows which cells to repaint. */
+    private void rememberFrame(GameState s) {
+        drawnBoard = s.getBoardId();
+        drawnVersion = s.getTileVersion();
+
+        int n = 1 + s.getGhosts().size();
+        if (drawnEntities.length < n) drawnEntities = new int[n];
+        drawnEntityCount = 0;
+        if (s.inBounds(s.pacX, s.pacY)) drawnEntities[drawnEntityCount++] = s.pacX * h + s.pacY;
+        for (Ghost g : s.getGhosts()) {
+            if (s.inBounds(g.x(), g.y())) drawnEntities[drawnEntityCount++] = g.x() * h + g.y();
+        }
+    }
+
+    /* ================= HUD accessors (no compile-time dependency) ================= */
+
     /**
-     * Gets the current game mode (AI or MANUAL) using reflection.
+     * Gets the current game mode (AI or MANUAL) through the cached accessor.
      *
      * @param s the game state
      * @return a string describing the current mode, or "Mode: ?" if mode cannot be determined
      */
-    private static String getModeTextSafe(GameState s) {
-        Boolean ai = readBooleanFieldOrGetter(s, "aiEnabled", "isAiEnabled", "getAiEnabled");
-        if (ai == null) return "Mode: ?";
-        return "Mode: " + (ai ? "AI" : "MANUAL");
+    private String getModeTextSafe(GameState s) {
+        resolveHud(s);
+        if (hudAiEnabled == null) return "Mode: ?";
+        try {
+            return ((boolean) hudAiEnabled.invokeExact(s)) ? "Mode: AI" : "Mode: MANUAL";
+        } catch (Throwable ignored) {
+            return "Mode: ?";
+        }
     }
 
     /**
-     * Gets the remaining power-mode ticks using reflection.
+     * Gets the remaining power-mode ticks through the cached accessor.
      *
      * @param s the game state
      * @return the number of remaining power ticks, -1 if unable to determine
      */
-    private static int getPowerTicksLeftSafe(GameState s) {
-        Integer v = readIntFieldOrGetter(s, "powerTicksLeft", "getPowerTicksLeft", "getPowerLeft", "getPowerRemain");
-        return v == null ? -1 : Math.max(0, v);
+    private int getPowerTicksLeftSafe(GameState s) {
+        resolveHud(s);
+        if (hudPowerLeft == null) return -1;
+        try {
+            return Math.max(0, (int) hudPowerLeft.invokeExact(s));
+        } catch (Throwable ignored) {
+            return -1;
+        }
     }
 
     /**
-     * Attempts to read a boolean value from an object using reflection.
+     * Resolves the HUD accessors for the class of {@code s}, once per class.
      *
-     * <p>Tries getter methods first, then fields, using the specified names.
+     * <p>The reflective search (getters first, then fields) runs only when the state class changes;
+     * every frame after that is a direct {@link MethodHandle} call without boxing.
      *
-     * @param obj the object to read from
-     * @param fieldName the field name to try
-     * @param getters getter method names to try
-     * @return the boolean value if found, null otherwise
+     * @param s the game state
      */
-    private static Boolean readBooleanFieldOrGetter(Object obj, String fieldName, String...  getters) {
-        try {
-            // try getter
-            for (String g : getters) {
-                try {
-                    Method m = obj.getClass().getMethod(g);
-                    m.setAccessible(true);
-                    Object val = m.invoke(obj);
-                    if (val instanceof Boolean) return (Boolean) val;
-                } catch (NoSuchMethodException ignored) {}
-            }
-            // try field
-            Field f = findField(obj.getClass(), fieldName);
-            if (f != null) {
-                f.setAccessible(true);
-                Object val = f.get(obj);
-                if (val instanceof Boolean) return (Boolean) val;
-            }
-        } catch (Exception ignored) {}
-        return null;
+    private void resolveHud(GameState s) {
+        if (s.getClass() == hudClass) return;
+        hudClass = s.getClass();
+        hudAiEnabled = findAccessor(hudClass, boolean.class, "aiEnabled", "isAiEnabled", "getAiEnabled");
+        hudPowerLeft = findAccessor(hudClass, int.class, "powerTicksLeft", "getPowerTicksLeft", "getPowerLeft", "getPowerRemain");
     }
 
     /**
-     * Attempts to read an integer value from an object using reflection.
+     * Finds a no-argument getter or an instance field of a given primitive type.
      *
      * <p>Tries getter methods first, then fields, using the specified names.
      *
-     * @param obj the object to read from
+     * @param cls the class to search
+     * @param type the primitive value type ({@code int.class} / {@code boolean.class})
      * @param fieldName the field name to try
      * @param getters getter method names to try
-     * @return the integer value if found, null otherwise
+     * @return a handle of type {@code (GameState)type}, or null if none was found
      */
-    private static Integer readIntFieldOrGetter(Object obj, String fieldName, String... getters) {
-        try {
-            // try getter
-            for (String g : getters) {
-                try {
-                    Method m = obj.getClass().getMethod(g);
-                    m.setAccessible(true);
-                    Object val = m.invoke(obj);
-                    if (val instanceof Integer) return (Integer) val;
-                } catch (NoSuchMethodException ignored) {}
-            }
-            // try field
-            Field f = findField(obj.getClass(), fieldName);
-            if (f != null) {
+    private static MethodHandle findAccessor(Class<?> cls, Class<?> type, String fieldName, String... getters) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType mt = MethodType.methodType(type, GameState.class);
+
+        // try getter
+        for (String g : getters) {
+            try {
+                Method m = cls.getMethod(g);
+                if (m.getReturnType() != type || Modifier.isStatic(m.getModifiers())) continue;
+                m.setAccessible(true);
+                return lookup.unreflect(m).asType(mt);
+            } catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {}
+        }
+        // try field
+        Field f = findField(cls, fieldName);
+        if (f != null && f.getType() == type && !Modifier.isStatic(f.getModifiers())) {
+            try {
                 f.setAccessible(true);
-                Object val = f.get(obj);
-                if (val instanceof Integer) return (Integer) val;
-            }
-        } catch (Exception ignored) {}
+                return lookup.unreflectGetter(f).asType(mt);
+            } catch (IllegalAccessException | RuntimeException ignored) {}
+        }
         return null;
     }
 
@@ -309,179 +427,196 @@ public class StdDrawRenderer implements Renderer {
         return null;
     }
 
-    /* ================= StdDraw reflection wrapper ================= */
+    /* ================= StdDraw method-handle wrapper ================= */
 
     /**
-     * Internal wrapper for StdDraw method invocation via reflection.
+     * Internal wrapper for StdDraw calls through cached method handles.
      *
-     * <p>This class handles the complexity of different StdDraw library versions
-     * by using reflection to attempt multiple method signatures and gracefully
-     * falling back when certain methods don't exist.
+     * <p>Different StdDraw library versions expose either {@code name(args)} or
+     * {@code name(args, int hash)}. Each target is resolved once, when the wrapper is first used,
+     * into a {@link MethodHandle} of the plain signature (the hash variant gets the hash argument
+     * bound in). Draw calls then use {@code invokeExact}: no lookup, no argument array, no boxing.
+     * A method missing in both forms resolves to a handle that throws when called.
      *
      * @author Lidor Ayhoni (wrapper)
      * @version 1.0
      */
     private static final class SD {
         private static final int HASH = 1;
+
+        private static final MethodHandle SET_CANVAS_SIZE = resolve("setCanvasSize", int.class, int.class);
+        private static final MethodHandle SET_XSCALE = resolve("setXscale", double.class, double.class);
+        private static final MethodHandle SET_YSCALE = resolve("setYscale", double.class, double.class);
+        private static final MethodHandle CLEAR = resolveClear();
+        private static final MethodHandle SET_PEN_COLOR = resolve("setPenColor", Color.class);
+        private static final MethodHandle FILLED_SQUARE = resolve("filledSquare", double.class, double.class, double.class);
+        private static final MethodHandle FILLED_CIRCLE = resolve("filledCircle", double.class, double.class, double.class);
+        private static final MethodHandle TEXT_LEFT = resolve("textLeft", double.class, double.class, String.class);
+        private static final MethodHandle SHOW = resolve("show");
+
         private SD() {}
 
         /**
-         * Sets the canvas size using reflection.
+         * Sets the canvas size.
          *
          * @param w canvas width in pixels
          * @param h canvas height in pixels
          */
         static void setCanvasSize(int w, int h) {
-            if (!invokeVoid("setCanvasSize", new Class<?>[]{int.class, int.class}, w, h)) {
-                mustInvokeVoid("setCanvasSize", new Class<?>[]{int.class, int.class, int.class}, w, h, HASH);
-            }
+            try { SET_CANVAS_SIZE.invokeExact(w, h); } catch (Throwable e) { throw failure("setCanvasSize", e); }
         }
 
         /**
-         * Sets the x-axis scale using reflection.
+         * Sets the x-axis scale.
          *
          * @param min minimum x value
          * @param max maximum x value
          */
         static void setXscale(double min, double max) {
-            if (!invokeVoid("setXscale", new Class<?>[]{double.class, double.class}, min, max)) {
-                mustInvokeVoid("setXscale", new Class<?>[]{double.class, double.class, int.class}, min, max, HASH);
-            }
+            try { SET_XSCALE.invokeExact(min, max); } catch (Throwable e) { throw failure("setXscale", e); }
         }
 
         /**
-         * Sets the y-axis scale using reflection.
+         * Sets the y-axis scale.
          *
          * @param min minimum y value
          * @param max maximum y value
          */
         static void setYscale(double min, double max) {
-            if (!invokeVoid("setYscale", new Class<?>[]{double.class, double.class}, min, max)) {
-                mustInvokeVoid("setYscale", new Class<?>[]{double.class, double.class, int.class}, min, max, HASH);
-            }
+            try { SET_YSCALE.invokeExact(min, max); } catch (Throwable e) { throw failure("setYscale", e); }
         }
 
         /**
-         * Clears the canvas with a given color using reflection.
+         * Clears the canvas with a given color (or the default color, if the library cannot take one).
          *
          * @param c the color to clear with
          */
         static void clear(Color c) {
-            if (invokeVoid("clear", new Class<?>[]{Color.class}, c)) return;
-            if (invokeVoid("clear", new Class<?>[]{Color.class, int.class}, c, HASH)) return;
-
-            if (invokeVoid("clear", new Class<?>[]{}, new Object[]{})) return;
-            mustInvokeVoid("clear", new Class<?>[]{int.class}, HASH);
+            try { CLEAR.invokeExact(c); } catch (Throwable e) { throw failure("clear", e); }
         }
 
         /**
-         * Sets the pen color using reflection.
+         * Sets the pen color.
          *
          * @param c the color to set
          */
         static void setPenColor(Color c) {
-            if (!invokeVoid("setPenColor", new Class<?>[]{Color.class}, c)) {
-                mustInvokeVoid("setPenColor", new Class<?>[]{Color.class, int.class}, c, HASH);
-            }
+            try { SET_PEN_COLOR.invokeExact(c); } catch (Throwable e) { throw failure("setPenColor", e); }
         }
 
         /**
-         * Draws a filled square using reflection.
+         * Draws a filled square.
          *
          * @param x center x coordinate
          * @param y center y coordinate
          * @param half half the side length
          */
         static void filledSquare(double x, double y, double half) {
-            if (!invokeVoid("filledSquare", new Class<?>[]{double.class, double.class, double.class}, x, y, half)) {
-                mustInvokeVoid("filledSquare",
-                        new Class<?>[]{double.class, double.class, double.class, int.class},
-                        x, y, half, HASH);
-            }
+            try { FILLED_SQUARE.invokeExact(x, y, half); } catch (Throwable e) { throw failure("filledSquare", e); }
         }
 
         /**
-         * Draws a filled circle using reflection.
+         * Draws a filled circle.
          *
          * @param x center x coordinate
          * @param y center y coordinate
          * @param r radius
          */
         static void filledCircle(double x, double y, double r) {
-            if (!invokeVoid("filledCircle", new Class<?>[]{double.class, double.class, double.class}, x, y, r)) {
-                mustInvokeVoid("filledCircle",
-                        new Class<?>[]{double.class, double.class, double.class, int.class},
-                        x, y, r, HASH);
-            }
+            try { FILLED_CIRCLE.invokeExact(x, y, r); } catch (Throwable e) { throw failure("filledCircle", e); }
         }
 
         /**
-         * Draws text aligned to the left using reflection.
+         * Draws text aligned to the left.
          *
          * @param x x coordinate
          * @param y y coordinate
          * @param text the text to draw
          */
         static void textLeft(double x, double y, String text) {
-            if (!invokeVoid("textLeft", new Class<?>[]{double.class, double.class, String.class}, x, y, text)) {
-                mustInvokeVoid("textLeft",
-                        new Class<?>[]{double.class, double.class, String.class, int.class},
-                        x, y, text, HASH);
-            }
+            try { TEXT_LEFT.invokeExact(x, y, text); } catch (Throwable e) { throw failure("textLeft", e); }
         }
 
         /**
-         * Updates the display using reflection.
+         * Updates the display.
          */
         static void show() {
-            if (!invokeVoid("show", new Class<?>[]{}, new Object[]{})) {
-                mustInvokeVoid("show", new Class<?>[]{int.class}, HASH);
-            }
+            try { SHOW.invokeExact(); } catch (Throwable e) { throw failure("show", e); }
         }
 
         /**
-         * Attempts to enable double buffering using reflection.
-         * Fails silently if the method doesn't exist.
+         * Enables double buffering in every form the library offers.
+         * Does nothing if the method doesn't exist.
          */
         static void enableDoubleBufferingIfExists() {
-            invokeVoid("enableDoubleBuffering", new Class<?>[]{}, new Object[]{});
-            invokeVoid("enableDoubleBuffering", new Class<?>[]{int.class}, HASH);
+            for (Class<?>[] types : new Class<?>[][]{{}, {int.class}}) {
+                MethodHandle mh = find("enableDoubleBuffering", types);
+                if (mh == null) continue;
+                try {
+                    if (types.length == 0) mh.invoke();
+                    else mh.invoke(HASH);
+                } catch (Throwable e) {
+                    throw failure("enableDoubleBuffering", e);
+                }
+            }
         }
 
         /**
-         * Attempts to invoke a void method on StdDraw via reflection.
+         * Resolves {@code name(types)}, falling back to {@code name(types, int)} with the hash bound.
          *
          * @param name the method name
-         * @param types the parameter types
-         * @param args the arguments
-         * @return true if the invocation succeeded, false if the method doesn't exist
+         * @param types the parameter types of the plain signature
+         * @return a handle of type {@code (types)void}; it throws when called if neither form exists
          */
-        private static boolean invokeVoid(String name, Class<?>[] types, Object... args) {
-            try {
-                Method m = StdDraw.class.getMethod(name, types);
-                m.invoke(null, args);
-                return true;
-            } catch (NoSuchMethodException e) {
-                return false;
-            } catch (Exception e) {
-                throw new RuntimeException("StdDraw." + name + " invocation failed", e);
+        private static MethodHandle resolve(String name, Class<?>... types) {
+            MethodHandle mh = find(name, types);
+            if (mh != null) return mh;
+
+            Class<?>[] hashed = Arrays.copyOf(types, types.length + 1);
+            hashed[types.length] = int.class;
+            mh = find(name, hashed);
+            if (mh != null) return MethodHandles.insertArguments(mh, types.length, HASH);
+
+            return missing(name, types);
+        }
+
+        /** Resolves clear: {@code clear(Color)}, {@code clear(Color,int)}, then the color-less forms. */
+        private static MethodHandle resolveClear() {
+            MethodHandle mh = find("clear", Color.class);
+            if (mh != null) return mh;
+            mh = find("clear", Color.class, int.class);
+            if (mh != null) return MethodHandles.insertArguments(mh, 1, HASH);
+
+            mh = find("clear");
+            if (mh == null) {
+                mh = find("clear", int.class);
+                if (mh != null) mh = MethodHandles.insertArguments(mh, 0, HASH);
             }
+            if (mh != null) return MethodHandles.dropArguments(mh, 0, Color.class);
+            return missing("clear", Color.class);
         }
 
-        /**
-         * Invokes a void method on StdDraw via reflection, throwing an exception if it fails.
-         *
-         * @param name the method name
-         * @param types the parameter types
-         * @param args the arguments
-         */
-        private static void mustInvokeVoid(String name, Class<?>[] types, Object... args) {
+        /** @return a handle to the public static void method {@code StdDraw.name(types)}, or null if missing */
+        private static MethodHandle find(String name, Class<?>... types) {
             try {
-                Method m = StdDraw.class.getMethod(name, types);
-                m.invoke(null, args);
-            } catch (Exception e) {
-                throw new RuntimeException("StdDraw." + name + " required method missing/failed", e);
+                return MethodHandles.publicLookup().findStatic(StdDraw.class, name, MethodType.methodType(void.class, types));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                return null;
             }
         }
+
+        /** @return a {@code (types)void} handle that throws "required method missing" when called */
+        private static MethodHandle missing(String name, Class<?>... types) {
+            RuntimeException e = new RuntimeException("StdDraw." + name + " required method missing/failed");
+            MethodHandle thrower = MethodHandles.throwException(void.class, RuntimeException.class).bindTo(e);
+            return MethodHandles.dropArguments(thrower, 0, types);
+        }
+
+        /** @return the exception to throw for a failed call (runtime exceptions pass through unchanged) */
+        private static RuntimeException failure(String name, Throwable e) {
+            if (e instanceof RuntimeException re) return re;
+            if (e instanceof Error err) throw err;
+            return new RuntimeException("StdDraw." + name + " invocation failed", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,20 +4,28 @@ import assignments.Ex3.model.*;
 import assignments.Ex3.render.Renderer;
 import assignments.Ex3.server.control.DirectionProvider;
 import assignments.Ex3.server.control.*;
+import assignments.Ex3.server.TickProfiler.Phase;
 
 /**
  * The main game loop that orchestrates game flow and updates.
  *
  * <p>The GameLoop coordinates all game systems:
  * <ul>
- *   <li><b>Input handling: </b> Reads player commands via DirectionProvider</li>
+ *   <li><b>Input handling: </b> Reads player commands via DirectionProvider, optionally within a
+ *       decision budget (see {@link #setDecisionBudgetNanos(long)})</li>
  *   <li><b>Entity movement:</b> Updates Pac-Man and ghost positions</li>
- *   <li><b>Collision detection:</b> Checks collisions after each entity movement</li>
+ *   <li><b>Collision detection:</b> Resolves all collisions of a tick in one sweep after every
+ *       entity has moved ({@link CollisionSystem#beginTick} / {@link CollisionSystem#resolve})</li>
  *   <li><b>Game logic:</b> Manages power mode, scoring, lives, and win/loss conditions</li>
  *   <li><b>Rendering: </b> Updates the visual display</li>
- *   <li><b>Timing:</b> Maintains consistent frame rate via sleep</li>
+ *   <li><b>Timing:</b> Keeps a fixed tick rate on absolute deadlines via a {@link TickScheduler}</li>
+ *   <li><b>Profiling (optional):</b> Times each phase of a tick into a {@link TickProfiler}</li>
  * </ul>
  *
+ * <p>Rendering cost is part of the tick only for a synchronous renderer. With an
+ * {@link assignments.Ex3.render.AsyncRenderer} the render step just publishes a copy of the
+ * state, and drawing happens on the render thread at its own rate.
+ *
  * <p>The game loop runs until the game is marked as done or maxSteps is reached.
  * It ensures deterministic behavior by processing entities in a consistent order each frame.
  *
@@ -32,11 +40,17 @@ import assignments.Ex3.server.control.*;
  */
 public class GameLoop {
 
+    /** Share of the decision budget handed to the provider; the rest covers its return to the loop. */
+    private static final int BUDGET_SHARE_PERCENT = 90;
+
     private final GameState s;
     private final Renderer renderer;
     private final DirectionProvider provider;
     private final InputController input;
-    private final int dtMs;
+    private final TickScheduler scheduler;
+    private TickProfiler profiler;    // null = profiling disabled
+    private long decisionBudgetNs = 0;    // 0 = unbounded
+    private long providerTimeouts = 0;
 
     private final GhostMovement ghostMovement = new GhostMovement();
     private final CollisionSystem collisionSystem = new CollisionSystem();
@@ -76,14 +90,14 @@ public class GameLoop {
      * @param renderer the renderer for visual output
      * @param provider the direction provider for Pac-Man control
      * @param input the input controller (may be null)
-     * @param dtMs the frame time in milliseconds
+     * @param dtMs the tick period in milliseconds (0 = unthrottled)
      */
     public GameLoop(GameState s, Renderer renderer, DirectionProvider provider, InputController input, int dtMs) {
         this.s = s;
         this.renderer = renderer;
         this.provider = provider;
         this.input = input;
-        this.dtMs = dtMs;
+        this.scheduler = new TickScheduler(dtMs);
     }
 
     /**
@@ -92,15 +106,15 @@ public class GameLoop {
      * <p>Game loop sequence per iteration:
      * <ol>
      *   <li>Check for AI toggle input (if available)</li>
-     *   <li>Get next direction from provider</li>
+     *   <li>Get next direction from provider (within the decision budget, if one is set; a late
+     *       answer is discarded and Pac-Man keeps its previous direction)</li>
      *   <li>Move Pac-Man and handle dot/power collection</li>
-     *   <li>Resolve collisions with ghosts</li>
      *   <li>Move all ghosts</li>
-     *   <li>Resolve collisions again</li>
+     *   <li>Resolve all collisions of the tick in one pass (same cell and pass-through)</li>
      *   <li>Update power mode timer</li>
      *   <li>Check win condition (all dots eaten)</li>
-     *   <li>Render game state</li>
-     *   <li>Sleep for frame timing</li>
+     *   <li>Render game state (skipped while behind schedule, see {@link TickScheduler#shouldRender()})</li>
+     *   <li>Wait for the next tick deadline</li>
      * </ol>
      *
      * <p>The loop terminates when the game is marked done or after 20,000 steps (safety limit).
@@ -108,8 +122,11 @@ public class GameLoop {
     public void run() {
         int steps = 0;
         int maxSteps = 20_000;
+        scheduler.start();
 
         while (!s.done && steps < maxSteps) {
+            TickProfiler prof = profiler;
+            long tickStart = (prof != null) ? System.nanoTime() : 0, t = tickStart;
 
             // Toggle AI with T
             if (input != null && provider instanceof ToggleDirectionProvider tdp) {
@@ -120,25 +137,39 @@ public class GameLoop {
                 }
             }
 
-            Direction nd = provider.nextDirection(s);
+            Direction nd = decide();
             if (nd != null) s.pacDir = nd;
+            if (prof != null) t = prof.lap(Phase.PROVIDER, t);
 
-            stepPacman(s.pacDir);
-            collisionSystem.resolve(s);
-            if (s.done) break;
+            collisionSystem.beginTick(s);
+            GameRules.stepPacman(s, s.pacDir);
+            if (prof != null) t = prof.lap(Phase.STEP_PACMAN, t);
+            GameRules.moveGhosts(s, ghostMovement);
+            if (prof != null) t = prof.lap(Phase.MOVE_GHOSTS, t);
 
-            moveGhosts();
             collisionSystem.resolve(s);
+            if (prof != null) t = prof.lap(Phase.RESOLVE, t);
+            if (s.done) {
+                if (prof != null) endTick(prof, tickStart);
+                break;
+            }
+
             s.tickPower();
+            if (prof != null) t = prof.lap(Phase.TICK_POWER, t);
 
-            if (!hasDotsLeft()) {
+            if (!GameRules.hasDotsLeft(s)) {
                 s.done = true;
             }
+            if (prof != null) t = prof.lap(Phase.DOTS_CHECK, t);
 
-            renderer.render(s);
+            if (s.done || scheduler.shouldRender()) {
+                renderer.render(s);
+                if (prof != null) prof.lap(Phase.RENDER, t);
+            }
+            if (prof != null) endTick(prof, tickStart);
 
             steps++;
-            sleep(dtMs);
+            scheduler.awaitNextTick();
         }
 
         if (!s.done) {
@@ -148,84 +179,77 @@ public class GameLoop {
     }
 
     /**
-     * Moves Pac-Man one step in the given direction.
-     *
-     * <p>If the target cell is not a wall:
-     * <ul>
-     *   <li>Updates Pac-Man's position</li>
-     *   <li>If the cell contains a DOT:  removes it and adds 10 points</li>
-     *   <li>If the cell contains a POWER: removes it, adds 50 points, and activates power mode</li>
-     * </ul>
-     *
-     * @param d the direction to move Pac-Man
+     * Asks the provider for a direction; null if it answered after the decision budget.
+     * The provider is given {@link #BUDGET_SHARE_PERCENT}% of the budget, so an answer returned
+     * at its own deadline still arrives in time.
      */
-    private void stepPacman(Direction d) {
-        int nx = s.pacX + d.dx;
-        int ny = s.pacY + d.dy;
-
-        if (!s.isWall(nx, ny)) {
-            s.pacX = nx;
-            s.pacY = ny;
-
-            Tile t = s.grid[nx][ny];
-            if (t == Tile.DOT) {
-                s.grid[nx][ny] = Tile.EMPTY;
-                s.addScore(10);
-            } else if (t == Tile.POWER) {
-                s.grid[nx][ny] = Tile.EMPTY;
-                s.addScore(50);
-                s.activatePower(80);
-            }
+    private Direction decide() {
+        if (decisionBudgetNs == 0) return provider.nextDirection(s);
+
+        long asked = System.nanoTime();
+        Direction nd = provider.nextDirection(s, decisionBudgetNs / 100 * BUDGET_SHARE_PERCENT);
+        if (System.nanoTime() - asked > decisionBudgetNs) {
+            providerTimeouts++;
+            return null;
         }
+        return nd;
+    }
+
+    /** Records the whole-tick sample and ends the profiler's tick. */
+    private static void endTick(TickProfiler prof, long tickStart) {
+        prof.lap(Phase.TICK, tickStart);
+        prof.endTick();
     }
 
     /**
-     * Moves all ghosts one step based on their movement logic.
+     * Installs (or removes) per-phase tick timing.
      *
-     * <p>For each ghost:
-     * <ol>
-     *   <li>Computes next direction using GhostMovement AI</li>
-     *   <li>Updates ghost's facing direction</li>
-     *   <li>Moves ghost to new position if not blocked by wall</li>
-     * </ol>
+     * <p>With no profiler (the default) the loop does no timing work beyond one null check per phase.
+     *
+     * @param profiler the profiler to record into, or null to disable profiling
      */
-    private void moveGhosts() {
-        for (Ghost g : s.getGhosts()) {
-            Direction next = ghostMovement.chooseNext(g, s);
-            g.setDir(next);
-
-            int nx = g.x() + next.dx;
-            int ny = g.y() + next.dy;
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
 
-            if (!s.isWall(nx, ny)) {
-                g.setPos(nx, ny);
-            }
-        }
+    /** @return the installed profiler, or null if profiling is disabled */
+    public TickProfiler getProfiler() {
+        return profiler;
     }
 
     /**
-     * Checks if any dots remain on the map.
+     * Sets the time the provider has for each decision.
      *
-     * @return {@code true} if at least one DOT tile exists; {@code false} if all dots are eaten
+     * <p>With a budget, the loop calls {@link DirectionProvider#nextDirection(GameState, long)}.
+     * The provider runs on the loop thread and cannot be interrupted, so an answer that arrives
+     * after the budget is discarded (Pac-Man keeps its previous direction) and counted as a
+     * timeout. The provider is told only 90% of the budget, so an anytime provider that returns
+     * its best answer so far when its own deadline passes is still on time.
+     *
+     * @param budgetNanos the decision budget in nanoseconds (0 = unbounded, the default)
+     * @throws IllegalArgumentException if budgetNanos is negative
      */
-    private boolean hasDotsLeft() {
-        for (int x = 0; x < s.w; x++) {
-            for (int y = 0; y < s.h; y++) {
-                if (s.grid[x][y] == Tile.DOT) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    public void setDecisionBudgetNanos(long budgetNanos) {
+        if (budgetNanos < 0) throw new IllegalArgumentException("budgetNanos must be >= 0");
+        this.decisionBudgetNs = budgetNanos;
+    }
+
+    /** @return the decision budget in nanoseconds (0 = unbounded) */
+    public long getDecisionBudgetNanos() {
+        return decisionBudgetNs;
     }
+
+    /** @return the number of provider answers discarded because they arrived after the budget */
+    public long getProviderTimeouts() {
+        return providerTimeouts;
+    }
+
     /**
-     * Pauses execution for the specified number of milliseconds.
-     *
-     * <p>Used to maintain consistent frame rate.  Exceptions are silently caught.
+     * Gets the tick scheduler, e.g. to read missed-deadline and skipped-frame counts after a run.
      *
-     * @param ms the number of milliseconds to sleep
+     * @return the scheduler driving this loop
      */
-    private static void sleep(int ms) {
-        try { Thread.sleep(ms); } catch (InterruptedException ignored) {}
+    public TickScheduler getScheduler() {
+        return scheduler;
     }
 }
@@ -2,7 +2,7 @@ package assignments.Ex3.server;
 
 import assignments. Ex3.levels.LevelLoader;
 import assignments.Ex3.model.GameState;
-import assignments. Ex3.render. Renderer;
+import assignments.Ex3.render.AsyncRenderer;
 import assignments.Ex3.render.StdDrawRenderer;
 import assignments.Ex3.server.control.*;
 
@@ -84,8 +84,8 @@ public class MyServerMain {
             default -> LevelLoader.level1();
         };
 
-        // -------- Renderer --------
-        Renderer r = new StdDrawRenderer();
+        // -------- Renderer (own thread, so drawing never delays a tick) --------
+        AsyncRenderer r = new AsyncRenderer(new StdDrawRenderer(true), 60);
         r.init(800, s.w, s.h);
 
         // -------- Providers --------
@@ -118,8 +118,20 @@ public class MyServerMain {
 
         // -------- Run --------
         GameLoop loop = new GameLoop(s, r, provider, input);
+        int profileEvery = Integer.getInteger("ex3.profile", 0);    // -Dex3.profile=N: phase timings every N ticks
+        if (profileEvery > 0) loop.setProfiler(new TickProfiler(profileEvery, System.out));
+        int budgetMs = Integer.getInteger("ex3.budgetMs", 0);       // -Dex3.budgetMs=N: AI decision budget (0 = none, the default)
+        loop.setDecisionBudgetNanos(budgetMs * 1_000_000L);
         loop.run();
+        r.close();
 
         System.out.println("DONE ✅ score=" + s.getScore() + " lives=" + s.getLives());
+        TickScheduler clock = loop.getScheduler();
+        if (clock.getMissedDeadlines() > 0) {
+            System.out.println("Missed tick deadlines: " + clock.getMissedDeadlines() + "/" + clock.getTicks());
+        }
+        if (loop.getProviderTimeouts() > 0) {
+            System.out.println("Late AI decisions (kept previous direction): " + loop.getProviderTimeouts());
+        }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package assignments.Ex3.server;
 
+import assignments.Ex3.ThreatField;
 import assignments.Ex3.model.*;
 
 import java.util.ArrayDeque;
@@ -60,7 +61,7 @@ public class ServerEx3Algo {
     /** Previous Pac-Man position used to detect "stuck" situations. */
     private int lastX = Integer.MIN_VALUE, lastY = Integer.MIN_VALUE;
 
-    /** Previously chosen direction used for smoothing and no-reverse preference. */
+    /** Direction Pac-Man last moved in (read back from the state), used for smoothing and no-reverse preference. */
     private Direction lastDir = Direction.STAY;
 
     /** Counts consecutive ticks in which Pac-Man did not change position. */
@@ -69,6 +70,9 @@ public class ServerEx3Algo {
     /** Recent positions encoded as a single long, used to detect loops/backtracking. */
     private final ArrayDeque<Long> lastPositions = new ArrayDeque<>();
 
+    /** Distance of every cell to the nearest danger ghost, rebuilt once per tick. */
+    private final ThreatField threat = new ThreatField();
+
     /**
      * Computes the next direction for Pac-Man based on the current {@link GameState}.
      *
@@ -79,6 +83,26 @@ public class ServerEx3Algo {
      * @return the chosen direction for the next tick (may be {@link Direction#STAY} if no legal move exists)
      */
     public Direction nextMove(GameState s) {
+        return decide(s, false, 0);
+    }
+
+    /**
+     * Computes the next direction, stopping early at a deadline (anytime decision).
+     *
+     * <p>The pipeline is the same as {@link #nextMove(GameState)}, with deadline checks after its
+     * expensive stages. Once the deadline has passed, the move chosen so far is returned without
+     * further refinement; if no move was chosen yet, any legal move that avoids dangerous ghosts.</p>
+     *
+     * @param s current server-side game state
+     * @param deadlineNanos the {@link System#nanoTime()} by which to answer
+     * @return the chosen direction for the next tick (may be {@link Direction#STAY} if no legal move exists)
+     */
+    public Direction nextMove(GameState s, long deadlineNanos) {
+        return decide(s, true, deadlineNanos);
+    }
+
+    /** The decision pipeline; with {@code bounded}, gives up refining once {@code deadline} passed. */
+    private Direction decide(GameState s, boolean bounded, long deadline) {
         tick++;
 
         int px = s.getPacmanX();
@@ -87,6 +111,9 @@ public class ServerEx3Algo {
         if (px == lastX && py == lastY) stuckCount++;
         else stuckCount = 0;
 
+        // Continue from the direction actually applied: a caller may have discarded our last answer.
+        if (lastX != Integer.MIN_VALUE) lastDir = (s.pacDir != null) ? s.pacDir : Direction.STAY;
+
         pushPos(px, py);
 
         boolean powerMode = s.isPowerMode();
@@ -94,6 +121,9 @@ public class ServerEx3Algo {
         // When blockPowerTiles=true, POWER tiles are treated as non-passable (policy knob).
         boolean blockPowerTiles = powerMode || (tick <= NO_POWER_FIRST_TICKS);
 
+        buildThreatField(s, blockPowerTiles);
+        if (bounded && expired(deadline)) return remember(px, py, anyLegalMove(px, py, s, blockPowerTiles));
+
         // Opening: try to start moving deterministically.
         if (tick <= OPENING_STEPS) {
             Direction op = openingMove(px, py, s, blockPowerTiles);
@@ -107,7 +137,7 @@ public class ServerEx3Algo {
             chosen = bfsToNearestTileSmart(px, py, s, Tile.DOT, blockPowerTiles);
             if (chosen == Direction.STAY) chosen = anyLegalMove(px, py, s, blockPowerTiles);
         } else {
-            int curThreat = minBfsDistToDangerGhost(px, py, s, blockPowerTiles);
+            int curThreat = threat.dist(px, py);
 
             if (curThreat != Integer.MAX_VALUE && curThreat <= DANGER_TRIGGER) {
                 chosen = escapeMove(px, py, s, blockPowerTiles, curThreat);
@@ -117,6 +147,7 @@ public class ServerEx3Algo {
         }
 
         if (chosen == Direction.STAY) chosen = anyLegalMove(px, py, s, blockPowerTiles);
+        if (bounded && expired(deadline)) return remember(px, py, chosen);
 
         // Loop + stuck recovery.
         chosen = breakLoopIfNeeded(px, py, s, chosen, blockPowerTiles);
@@ -156,7 +187,7 @@ public class ServerEx3Algo {
             int ny = py + d.dy;
             if (!passable(nx, ny, s, blockPowerTiles)) continue;
 
-            int nt = minBfsDistToDangerGhost(nx, ny, s, blockPowerTiles);
+            int nt = threat.dist(nx, ny);
             if (nt <= HARD_AVOID && curThreat > HARD_AVOID) continue;
 
             int score =
@@ -178,7 +209,7 @@ public class ServerEx3Algo {
             int ny = py + d.dy;
             if (!passable(nx, ny, s, blockPowerTiles)) continue;
 
-            int nt = minBfsDistToDangerGhost(nx, ny, s, blockPowerTiles);
+            int nt = threat.dist(nx, ny);
             int score =
                     safeVal(nt) * 2000 +
                             countExits(nx, ny, s, blockPowerTiles) * 120 +
@@ -318,11 +349,11 @@ public class ServerEx3Algo {
             Direction dir = firstDir[x][y];
             if (dir == Direction.STAY) continue;
 
-            int threat = minBfsDistToDangerGhost(x, y, s, blockPowerTiles);
+            int danger = threat.dist(x, y);
             int exits = countExits(x, y, s, blockPowerTiles);
 
             int score =
-                    safeVal(threat) * 1000 +
+                    safeVal(danger) * 1000 +
                             exits * 120 +
                             (dir == lastDir ? 40 : 0) +
                             (isRecentPos(x, y) ? -400 : 0);
@@ -378,67 +409,22 @@ public class ServerEx3Algo {
     // ===================== GHOST DIST =====================
 
     /**
-     * Returns the minimal BFS distance from (px,py) to any "danger" ghost (non-eatable).
+     * Rebuilds {@link #threat}: one multi-source BFS seeded with every "danger" ghost (non-eatable).
      * Eatable ghosts are ignored since they do not represent immediate danger.
+     *
+     * <p>The search ignores ghost occupancy and blocks only walls (and optionally POWER tiles).
+     * Afterwards the distance of any cell to its nearest danger ghost is an O(1) read;
+     * cells no danger ghost can reach read {@link ThreatField#UNREACHABLE}.</p>
      */
-    private int minBfsDistToDangerGhost(int px, int py, GameState s, boolean blockPowerTiles) {
-        int best = Integer.MAX_VALUE;
+    private void buildThreatField(GameState s, boolean blockPowerTiles) {
+        threat.begin(s.w, s.h, false, (x, y) ->
+                !s.isWall(x, y) && !(blockPowerTiles && s.isPower(x, y)));
         for (Ghost g : s.getGhosts()) {
             if (g == null) continue;
             if (g.isEatable()) continue; // danger = non-eatable
-            int d = bfsDist(px, py, g.x(), g.y(), s, blockPowerTiles);
-            best = Math.min(best, d);
+            threat.addSource(g.x(), g.y());
         }
-        return best;
-    }
-
-    /**
-     * Standard BFS shortest path distance on the grid.
-     *
-     * <p>This variant is used for safety evaluation and ghost distance computations.</p>
-     *
-     * @return shortest path length, or {@link Integer#MAX_VALUE} if unreachable
-     */
-    private int bfsDist(int sx, int sy, int tx, int ty, GameState s, boolean blockPowerTiles) {
-        if (sx == tx && sy == ty) return 0;
-
-        int w = s.w, h = s.h;
-        boolean[][] vis = new boolean[w][h];
-        ArrayDeque<int[]> q = new ArrayDeque<>();
-        q.add(new int[]{sx, sy, 0});
-        vis[sx][sy] = true;
-
-        Direction[] dirs = {Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT};
-
-        while (!q.isEmpty()) {
-            int[] cur = q.poll();
-            int x = cur[0], y = cur[1], dist = cur[2];
-
-            for (Direction d : dirs) {
-                int nx = x + d.dx;
-                int ny = y + d.dy;
-
-                if (!s.inBounds(nx, ny)) continue;
-                if (vis[nx][ny]) continue;
-                if (!passableGhostDist(nx, ny, s, blockPowerTiles)) continue;
-
-                if (nx == tx && ny == ty) return dist + 1;
-
-                vis[nx][ny] = true;
-                q.add(new int[]{nx, ny, dist + 1});
-            }
-        }
-        return Integer.MAX_VALUE;
-    }
-
-    /**
-     * Passability rule for "ghost distance" BFS:
-     * ignores ghost occupancy and blocks only walls (and optionally POWER tiles).
-     */
-    private boolean passableGhostDist(int x, int y, GameState s, boolean blockPowerTiles) {
-        if (s.isWall(x, y)) return false;
-        if (blockPowerTiles && s.grid[x][y] == Tile.POWER) return false;
-        return true;
+        threat.propagate();
     }
 
     // ===================== LOOP / MOVEMENT =====================
@@ -453,6 +439,11 @@ public class ServerEx3Algo {
         while (lastPositions.size() > LOOP_MEM) lastPositions.removeFirst();
     }
 
+    /** @return true if {@link System#nanoTime()} has reached the given deadline. */
+    private static boolean expired(long deadline) {
+        return System.nanoTime() - deadline >= 0;
+    }
+
     /** @return true if the given cell is present in the recent-position memory window. */
     private boolean isRecentPos(int x, int y) {
         long key = (((long) x) << 32) ^ (y & 0xffffffffL);
@@ -601,20 +592,15 @@ public class ServerEx3Algo {
      * </ul>
      */
     private boolean passable(int x, int y, GameState s, boolean blockPowerTiles) {
-        if (!s.inBounds(x, y)) return false;
-        if (s.grid[x][y] == Tile.WALL) return false;
-        if (blockPowerTiles && s.grid[x][y] == Tile.POWER) return false;
-
-        for (Ghost g : s.getGhosts()) {
-            if (g == null) continue;
-            if (g.isEatable()) continue;
-            if (g.x() == x && g.y() == y) return false;
-        }
-        return true;
+        if (s.isWall(x, y)) return false;
+        if (blockPowerTiles && s.isPower(x, y)) return false;
+        return !s.isDangerGhostAt(x, y);
     }
 
-    /** @return true if the board contains at least one cell of the given {@code target} tile. */
+    /** @return true if the board contains at least one cell of the given {@code target} tile (O(1) for DOT/POWER). */
     private boolean boardHasTile(GameState s, Tile target) {
+        if (target == Tile.DOT) return s.getDotsLeft() > 0;
+        if (target == Tile.POWER) return s.getPowersLeft() > 0;
         for (int x = 0; x < s.w; x++) {
             for (int y = 0; y < s.h; y++) {
                 if (s.grid[x][y] == target) return true;
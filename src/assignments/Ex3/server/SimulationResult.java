@@ -0,0 +1,31 @@
+package assignments.Ex3.server;
+
+/**
+ * Outcome of one headless game played by a {@link Simulator}.
+ *
+ * <p>Phase timings are the total nanoseconds spent in each part of the tick over the whole game.
+ *
+ * @param score the final score
+ * @param lives the remaining lives
+ * @param steps the number of ticks played
+ * @param won {@code true} if all dots were eaten with lives left
+ * @param decideNanos time spent in {@code DirectionProvider.nextDirection}
+ * @param pacmanNanos time spent moving Pac-Man (including pickups)
+ * @param ghostsNanos time spent moving ghosts
+ * @param collisionNanos time spent resolving collisions
+ * @param powerNanos time spent ticking power mode and checking the win condition
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Simulator
+ */
+public record SimulationResult(int score, int lives, int steps, boolean won,
+                               long decideNanos, long pacmanNanos, long ghostsNanos,
+                               long collisionNanos, long powerNanos) {
+
+    /** @return the total time spent in all phases, in nanoseconds. */
+    public long totalNanos() {
+        return decideNanos + pacmanNanos + ghostsNanos + collisionNanos + powerNanos;
+    }
+}
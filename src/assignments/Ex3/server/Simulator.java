@@ -0,0 +1,124 @@
+package assignments.Ex3.server;
+
+import assignments.Ex3.model.*;
+import assignments.Ex3.server.control.DirectionProvider;
+
+/**
+ * Headless, unthrottled game runner for evaluating controllers at scale.
+ *
+ * <p>A simulator plays the same tick as {@link GameLoop#run()} (same {@link GameRules},
+ * same {@link CollisionSystem}), but:
+ * <ul>
+ *   <li>never renders and never sleeps, so a game runs as fast as the CPU allows</li>
+ *   <li>drives ghosts from a seeded {@link GhostMovement}, so a (level, seed, controller) triple
+ *       always replays the same game</li>
+ *   <li>returns a {@link SimulationResult} with the outcome and per-phase timings</li>
+ * </ul>
+ *
+ * <p>A simulator owns its {@link GameState} and plays it once; create a new one per game.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see GameLoop
+ * @see SimulationResult
+ */
+public class Simulator {
+
+    /** Default safety limit on the number of ticks (same as {@link GameLoop}). */
+    public static final int DEFAULT_MAX_STEPS = 20_000;
+
+    private final GameState s;
+    private final DirectionProvider provider;
+    private final GhostMovement ghostMovement;
+    private final int maxSteps;
+
+    private final CollisionSystem collisionSystem = new CollisionSystem();
+
+    /**
+     * Constructs a simulator with the default step limit.
+     *
+     * @param s the game state to play (modified in place)
+     * @param provider the direction provider for Pac-Man control
+     * @param seed the seed for ghost movement
+     */
+    public Simulator(GameState s, DirectionProvider provider, long seed) {
+        this(s, provider, seed, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * Constructs a simulator.
+     *
+     * @param s the game state to play (modified in place)
+     * @param provider the direction provider for Pac-Man control
+     * @param seed the seed for ghost movement
+     * @param maxSteps the maximum number of ticks before the game is stopped
+     * @throws IllegalArgumentException if s or provider is null, or maxSteps is not positive
+     */
+    public Simulator(GameState s, DirectionProvider provider, long seed, int maxSteps) {
+        if (s == null || provider == null) throw new IllegalArgumentException("state/provider is null");
+        if (maxSteps <= 0) throw new IllegalArgumentException("maxSteps must be positive");
+        this.s = s;
+        this.provider = provider;
+        this.ghostMovement = new GhostMovement(seed);
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Gets the ghost movement policy, e.g. to switch its {@link GhostMovement.Pursuit pursuit mode}
+     * before {@link #run()}.
+     *
+     * @return the ghost movement policy of this simulator
+     */
+    public GhostMovement getGhostMovement() {
+        return ghostMovement;
+    }
+
+    /**
+     * Plays the game until it is done or {@code maxSteps} ticks have elapsed.
+     *
+     * <p>The game state is marked done on return.
+     *
+     * @return the outcome and per-phase timings of the game
+     */
+    public SimulationResult run() {
+        long decide = 0, pacman = 0, ghosts = 0, collision = 0, power = 0;
+        int steps = 0;
+
+        while (!s.done && steps < maxSteps) {
+            long t0 = System.nanoTime();
+            Direction nd = provider.nextDirection(s);
+            if (nd != null) s.pacDir = nd;
+            long t1 = System.nanoTime();
+
+            collisionSystem.beginTick(s);
+            GameRules.stepPacman(s, s.pacDir);
+            long t2 = System.nanoTime();
+
+            GameRules.moveGhosts(s, ghostMovement);
+            long t3 = System.nanoTime();
+
+            collisionSystem.resolve(s);
+            long t4 = System.nanoTime();
+
+            decide += t1 - t0;
+            pacman += t2 - t1;
+            ghosts += t3 - t2;
+            collision += t4 - t3;
+            steps++;
+            if (s.done) break;
+
+            s.tickPower();
+            if (!GameRules.hasDotsLeft(s)) s.done = true;
+            long t5 = System.nanoTime();
+
+            power += t5 - t4;
+        }
+
+        boolean won = s.getLives() > 0 && !GameRules.hasDotsLeft(s);
+        s.done = true;
+
+        return new SimulationResult(s.getScore(), s.getLives(), steps, won,
+                decide, pacman, ghosts, collision, power);
+    }
+}
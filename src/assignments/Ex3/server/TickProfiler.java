@@ -0,0 +1,213 @@
+package assignments.Ex3.server;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Per-phase timing of {@link GameLoop} ticks, recorded into preallocated histograms.
+ *
+ * <p>The loop measures each phase with {@link System#nanoTime()} and calls {@link #lap}, which
+ * adds the duration to the phase's histogram. Histograms are log-linear (HDR style): every
+ * power-of-two range of nanoseconds is split into 16 equal buckets, so any recorded value is
+ * known to within ~6% over the whole range (1 ns to ~18 minutes) with a fixed 608-bucket array.
+ * Recording is a few arithmetic operations and an array increment; it never allocates.
+ *
+ * <p>Profiling is off unless a profiler is installed with {@link GameLoop#setProfiler}; a loop
+ * without one skips every timing call behind a single null check.
+ *
+ * <p>With {@code dumpEvery > 0}, {@link #endTick()} prints a {@link #summary()} every
+ * {@code dumpEvery} ticks. A profiler is used by a single thread (the game loop).
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see GameLoop
+ */
+public class TickProfiler {
+
+    /** The measured phases of a tick, in loop order. */
+    public enum Phase {
+        /** {@code DirectionProvider.nextDirection} (and the AI toggle check). */
+        PROVIDER,
+        /** {@code GameRules.stepPacman}. */
+        STEP_PACMAN,
+        /** {@code GameRules.moveGhosts}. */
+        MOVE_GHOSTS,
+        /** {@code CollisionSystem.resolve}. */
+        RESOLVE,
+        /** {@code GameState.tickPower}. */
+        TICK_POWER,
+        /** {@code GameRules.hasDotsLeft}. */
+        DOTS_CHECK,
+        /** {@code Renderer.render} (not sampled when the frame is skipped). */
+        RENDER,
+        /** The whole tick, without the wait for the next deadline. */
+        TICK
+    }
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;                // buckets per power of two
+    private static final int MAX_EXP = 40;                       // values up to 2^40 ns
+    private static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[][] counts = new long[PHASES.length][BUCKETS];
+    private final long[] total = new long[PHASES.length];
+    private final long[] sum = new long[PHASES.length];
+    private final long[] max = new long[PHASES.length];
+
+    private final int dumpEvery;
+    private final PrintStream out;
+    private long ticks;
+
+    /** Constructs a profiler that only collects (no periodic dump). */
+    public TickProfiler() {
+        this(0, null);
+    }
+
+    /**
+     * Constructs a profiler that prints a summary every {@code dumpEvery} ticks.
+     *
+     * @param dumpEvery ticks between summaries (0 = never)
+     * @param out where to print the summaries (may be null only if dumpEvery is 0)
+     * @throws IllegalArgumentException if dumpEvery is negative, or positive with a null out
+     */
+    public TickProfiler(int dumpEvery, PrintStream out) {
+        if (dumpEvery < 0) throw new IllegalArgumentException("dumpEvery must be >= 0");
+        if (dumpEvery > 0 && out == null) throw new IllegalArgumentException("out is null");
+        this.dumpEvery = dumpEvery;
+        this.out = out;
+    }
+
+    /**
+     * Records one sample of a phase.
+     *
+     * @param phase the phase
+     * @param nanos the duration in nanoseconds (negative values count as 0)
+     */
+    public void record(Phase phase, long nanos) {
+        int p = phase.ordinal();
+        long v = Math.max(0, nanos);
+        counts[p][bucket(v)]++;
+        total[p]++;
+        sum[p] += v;
+        if (v > max[p]) max[p] = v;
+    }
+
+    /**
+     * Records the time since {@code since} as a sample of a phase, and returns the current time
+     * (the start of the next phase).
+     *
+     * @param phase the phase that just ended
+     * @param since the {@link System#nanoTime()} at which it started
+     * @return the current {@link System#nanoTime()}
+     */
+    public long lap(Phase phase, long since) {
+        long now = System.nanoTime();
+        record(phase, now - since);
+        return now;
+    }
+
+    /** Marks the end of a tick; prints the summary when a dump is due. */
+    public void endTick() {
+        ticks++;
+        if (dumpEvery > 0 && ticks % dumpEvery == 0) out.print(summary());
+    }
+
+    /** @return the number of ticks ended so far */
+    public long getTicks() { return ticks; }
+
+    /**
+     * @param phase the phase
+     * @return the number of samples of the phase
+     */
+    public long count(Phase phase) { return total[phase.ordinal()]; }
+
+    /**
+     * @param phase the phase
+     * @return the mean sample in nanoseconds (0 if none)
+     */
+    public double meanNanos(Phase phase) {
+        int p = phase.ordinal();
+        return total[p] == 0 ? 0 : (double) sum[p] / total[p];
+    }
+
+    /**
+     * @param phase the phase
+     * @return the largest sample in nanoseconds (exact; 0 if none)
+     */
+    public long maxNanos(Phase phase) { return max[phase.ordinal()]; }
+
+    /**
+     * Gets a percentile of a phase, to the histogram's precision (~6%).
+     *
+     * @param phase the phase
+     * @param percentile in [0, 100]
+     * @return the smallest bucket value that at least {@code percentile}% of the samples do not
+     *         exceed, capped at the exact maximum (0 if no samples)
+     * @throws IllegalArgumentException if percentile is outside [0, 100]
+     */
+    public long percentileNanos(Phase phase, double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("percentile must be in [0,100]");
+        int p = phase.ordinal();
+        if (total[p] == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total[p]));
+        long seen = 0;
+        long[] c = counts[p];
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += c[i];
+            if (seen >= rank) return Math.min(highestIn(i), max[p]);
+        }
+        return max[p];
+    }
+
+    /** Forgets all samples (e.g. after a warm-up). */
+    public void reset() {
+        for (long[] c : counts) Arrays.fill(c, 0);
+        Arrays.fill(total, 0);
+        Arrays.fill(sum, 0);
+        Arrays.fill(max, 0);
+        ticks = 0;
+    }
+
+    /**
+     * Formats one line per phase with samples: count, mean, p50, p99 and max in microseconds.
+     *
+     * @return the summary text (ends with a line break)
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "tick profile after %d ticks (us):%n", ticks));
+        sb.append(String.format(Locale.ROOT, "  %-12s %8s %9s %9s %9s %9s%n", "phase", "count", "mean", "p50", "p99", "max"));
+        for (Phase ph : PHASES) {
+            if (count(ph) == 0) continue;
+            sb.append(String.format(Locale.ROOT, "  %-12s %8d %9.1f %9.1f %9.1f %9.1f%n",
+                    ph.name().toLowerCase(Locale.ROOT), count(ph),
+                    meanNanos(ph) / 1e3,
+                    percentileNanos(ph, 50) / 1e3,
+                    percentileNanos(ph, 99) / 1e3,
+                    maxNanos(ph) / 1e3));
+        }
+        return sb.toString();
+    }
+
+    /** @return the histogram bucket of a non-negative value */
+    private static int bucket(long v) {
+        if (v < SUB) return (int) v;
+        int e = 63 - Long.numberOfLeadingZeros(v);
+        if (e > MAX_EXP) return BUCKETS - 1;
+        int sub = (int) (v >>> (e - SUB_BITS)) & (SUB - 1);
+        return (e - SUB_BITS + 1) * SUB + sub;
+    }
+
+    /** @return the largest value that falls into bucket {@code i} */
+    private static long highestIn(int i) {
+        if (i < SUB) return i;
+        int e = i / SUB + SUB_BITS - 1;
+        long low = (long) (SUB + i % SUB) << (e - SUB_BITS);
+        return low + (1L << (e - SUB_BITS)) - 1;
+    }
+}
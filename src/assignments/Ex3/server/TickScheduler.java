@@ -0,0 +1,143 @@
+package assignments.Ex3.server;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-timestep tick clock for {@link GameLoop}.
+ *
+ * <p>Ticks are scheduled on absolute deadlines ({@code start + k * period}, read from
+ * {@link System#nanoTime()}) instead of sleeping a fixed time after the work of a tick. The tick
+ * period therefore does not grow with the work time, and a short tick makes up for a long one:
+ * <ul>
+ *   <li><b>On time:</b> {@link #awaitNextTick()} waits until the next deadline.</li>
+ *   <li><b>Behind:</b> the deadline passed; the next tick starts at once (catch-up) and the
+ *       miss is counted. {@link #shouldRender()} returns {@code false} while behind, so the loop
+ *       skips drawing (at most {@code maxFrameSkip} frames in a row) to catch up faster.</li>
+ *   <li><b>Far behind:</b> more than {@code maxCatchUp} periods late (e.g. after a pause); the
+ *       schedule restarts from now instead of running a burst of ticks.</li>
+ * </ul>
+ *
+ * <p>A period of 0 means "as fast as possible": no waiting, no misses, every frame rendered.
+ * A scheduler is used by a single thread.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see GameLoop
+ */
+public class TickScheduler {
+
+    /** Default number of periods the schedule may fall behind before it restarts. */
+    public static final int DEFAULT_MAX_CATCH_UP = 5;
+
+    /** Default number of render frames that may be skipped in a row while behind. */
+    public static final int DEFAULT_MAX_FRAME_SKIP = 5;
+
+    private final long periodNs;
+    private final int maxCatchUp;
+    private final int maxFrameSkip;
+
+    private long next;
+    private boolean started = false;
+    private int skippedInRow = 0;
+
+    private long ticks, missedDeadlines, skippedFrames, resyncs;
+
+    /**
+     * Constructs a scheduler with the default catch-up and frame-skip limits.
+     *
+     * @param periodMs the tick period in milliseconds (0 = unthrottled)
+     * @throws IllegalArgumentException if periodMs is negative
+     */
+    public TickScheduler(int periodMs) {
+        this(periodMs * 1_000_000L, DEFAULT_MAX_CATCH_UP, DEFAULT_MAX_FRAME_SKIP);
+    }
+
+    /**
+     * Constructs a scheduler.
+     *
+     * @param periodNs the tick period in nanoseconds (0 = unthrottled)
+     * @param maxCatchUp periods the schedule may fall behind before it restarts from now
+     * @param maxFrameSkip render frames that may be skipped in a row while behind
+     * @throws IllegalArgumentException if any argument is negative, or maxCatchUp is 0
+     */
+    public TickScheduler(long periodNs, int maxCatchUp, int maxFrameSkip) {
+        if (periodNs < 0) throw new IllegalArgumentException("period must be >= 0");
+        if (maxCatchUp <= 0) throw new IllegalArgumentException("maxCatchUp must be positive");
+        if (maxFrameSkip < 0) throw new IllegalArgumentException("maxFrameSkip must be >= 0");
+        this.periodNs = periodNs;
+        this.maxCatchUp = maxCatchUp;
+        this.maxFrameSkip = maxFrameSkip;
+    }
+
+    /** Starts the schedule: the first deadline is one period from now. */
+    public void start() {
+        next = System.nanoTime() + periodNs;
+        started = true;
+        skippedInRow = 0;
+    }
+
+    /**
+     * Decides whether the current tick should be rendered.
+     *
+     * <p>Returns {@code false} if the current tick's deadline already passed and fewer than
+     * {@code maxFrameSkip} frames were skipped in a row; the skip is counted.
+     *
+     * @return {@code true} to render this tick
+     */
+    public boolean shouldRender() {
+        if (!started) start();
+        if (periodNs == 0 || System.nanoTime() < next || skippedInRow >= maxFrameSkip) {
+            skippedInRow = 0;
+            return true;
+        }
+        skippedInRow++;
+        skippedFrames++;
+        return false;
+    }
+
+    /**
+     * Waits until the deadline of the current tick, then advances the schedule by one period.
+     * Returns at once if the deadline already passed (a missed deadline). An interrupt ends the
+     * wait early and stays set on the thread.
+     */
+    public void awaitNextTick() {
+        if (!started) start();
+        ticks++;
+        if (periodNs == 0) return;
+
+        long now = System.nanoTime();
+        if (now - next >= 0) {
+            missedDeadlines++;
+            if (now - next > maxCatchUp * periodNs) {
+                next = now;
+                resyncs++;
+            }
+        }
+        else {
+            while ((now = System.nanoTime()) - next < 0) {
+                LockSupport.parkNanos(this, next - now);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();    // keep the flag for the caller
+                    break;
+                }
+            }
+        }
+        next += periodNs;
+    }
+
+    /** @return the tick period in nanoseconds */
+    public long getPeriodNs() { return periodNs; }
+
+    /** @return the number of ticks completed ({@link #awaitNextTick()} calls) */
+    public long getTicks() { return ticks; }
+
+    /** @return the number of ticks whose work ran past their deadline */
+    public long getMissedDeadlines() { return missedDeadlines; }
+
+    /** @return the number of render frames skipped to catch up */
+    public long getSkippedFrames() { return skippedFrames; }
+
+    /** @return the number of times the schedule fell too far behind and restarted */
+    public long getResyncs() { return resyncs; }
+}
@@ -0,0 +1,143 @@
+package assignments.Ex3.server;
+
+import assignments.Ex3.levels.LevelRegistry;
+import assignments.Ex3.model.GameState;
+import assignments.Ex3.server.control.AiDirectionProvider;
+import assignments.Ex3.server.control.DirectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Plays many independent headless games in parallel and aggregates the outcomes.
+ *
+ * <p>Each game gets its own {@link GameState} (from the level factory), its own controller
+ * (from the provider factory, since AI controllers are stateful) and its own ghost seed derived
+ * from the tournament seed and the game index. Games are spread over a {@link ForkJoinPool}, and
+ * results are collected in game-index order, so a tournament is reproducible regardless of the
+ * number of worker threads.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Simulator
+ * @see TournamentResult
+ */
+public class Tournament {
+
+    private final Supplier<GameState> level;
+    private final Supplier<? extends DirectionProvider> controller;
+    private final int maxSteps;
+
+    /**
+     * Constructs a tournament with the default step limit per game.
+     *
+     * @param level factory creating a fresh game state for every game
+     * @param controller factory creating a fresh direction provider for every game
+     */
+    public Tournament(Supplier<GameState> level, Supplier<? extends DirectionProvider> controller) {
+        this(level, controller, Simulator.DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * Constructs a tournament.
+     *
+     * @param level factory creating a fresh game state for every game
+     * @param controller factory creating a fresh direction provider for every game
+     * @param maxSteps the step limit of each game
+     * @throws IllegalArgumentException if a factory is null or maxSteps is not positive
+     */
+    public Tournament(Supplier<GameState> level, Supplier<? extends DirectionProvider> controller, int maxSteps) {
+        if (level == null || controller == null) throw new IllegalArgumentException("factory is null");
+        if (maxSteps <= 0) throw new IllegalArgumentException("maxSteps must be positive");
+        this.level = level;
+        this.controller = controller;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Derives the ghost seed of one game from the tournament seed (SplitMix64 finalizer).
+     *
+     * @param seed the tournament seed
+     * @param game the game index
+     * @return the seed of that game
+     */
+    public static long gameSeed(long seed, int game) {
+        long z = seed + (game + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays {@code games} games on all available cores.
+     *
+     * @param games the number of games
+     * @param seed the tournament seed
+     * @return the aggregated results
+     */
+    public TournamentResult run(int games, long seed) {
+        return run(games, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays {@code games} games on {@code parallelism} worker threads.
+     *
+     * @param games the number of games
+     * @param seed the tournament seed
+     * @param parallelism the number of worker threads
+     * @return the aggregated results
+     * @throws IllegalArgumentException if games or parallelism is not positive
+     */
+    public TournamentResult run(int games, long seed, int parallelism) {
+        if (games <= 0) throw new IllegalArgumentException("games must be positive");
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive");
+
+        List<Callable<SimulationResult>> tasks = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            long gameSeed = gameSeed(seed, i);
+            tasks.add(() -> new Simulator(level.get(), controller.get(), gameSeed, maxSteps).run());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<SimulationResult> results = new ArrayList<>(games);
+            for (Future<SimulationResult> f : pool.invokeAll(tasks)) {
+                results.add(f.get());
+            }
+            return new TournamentResult(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("tournament interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("tournament game failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs an AI tournament on every level of a registry and prints a summary per level.
+     *
+     * @param args optional: number of games per level (default 100), tournament seed (default 1),
+     *             a directory of level files (default: the three shipped levels)
+     * @throws IOException if the level directory cannot be listed
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        LevelRegistry levels = args.length > 2 ? LevelRegistry.scan(Path.of(args[2])) : LevelRegistry.builtIn();
+
+        for (String name : levels.names()) {
+            TournamentResult r = new Tournament(levels.supplier(name), AiDirectionProvider::new).run(games, seed);
+            System.out.println(name + ": " + r);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package assignments.Ex3.server;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated outcome of a {@link Tournament}: the individual games plus score / step distributions.
+ *
+ * <p>Percentiles use the nearest-rank method over all games.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see Tournament
+ * @see SimulationResult
+ */
+public class TournamentResult {
+
+    private final List<SimulationResult> games;
+    private final int[] scores;  // sorted
+    private final int[] steps;   // sorted
+    private final int wins;
+
+    /**
+     * Aggregates a list of game results.
+     *
+     * @param games the results in game-index order (must be non-empty)
+     * @throws IllegalArgumentException if games is null or empty
+     */
+    public TournamentResult(List<SimulationResult> games) {
+        if (games == null || games.isEmpty()) throw new IllegalArgumentException("no games");
+        this.games = Collections.unmodifiableList(games);
+
+        scores = new int[games.size()];
+        steps = new int[games.size()];
+        int w = 0;
+        for (int i = 0; i < games.size(); i++) {
+            SimulationResult r = games.get(i);
+            scores[i] = r.score();
+            steps[i] = r.steps();
+            if (r.won()) w++;
+        }
+        Arrays.sort(scores);
+        Arrays.sort(steps);
+        wins = w;
+    }
+
+    /** @return the individual game results, in game-index order. */
+    public List<SimulationResult> getGames() { return games; }
+
+    /** @return the number of games played. */
+    public int getGameCount() { return games.size(); }
+
+    /** @return the number of games won. */
+    public int getWins() { return wins; }
+
+    /** @return the fraction of games won, in [0,1]. */
+    public double getWinRate() { return (double) wins / games.size(); }
+
+    /** @return the mean final score. */
+    public double getMeanScore() { return mean(scores); }
+
+    /** @return the mean number of steps per game. */
+    public double getMeanSteps() { return mean(steps); }
+
+    /**
+     * @param p the percentile in [0,100]
+     * @return the score at percentile {@code p}
+     */
+    public int scorePercentile(double p) { return percentile(scores, p); }
+
+    /**
+     * @param p the percentile in [0,100]
+     * @return the step count at percentile {@code p}
+     */
+    public int stepsPercentile(double p) { return percentile(steps, p); }
+
+    /** @return a one-line summary of the distributions. */
+    @Override
+    public String toString() {
+        return String.format("games=%d winRate=%.3f score[mean=%.1f min=%d p50=%d p90=%d max=%d] steps[mean=%.1f p50=%d p90=%d]",
+                getGameCount(), getWinRate(),
+                getMeanScore(), scores[0], scorePercentile(50), scorePercentile(90), scores[scores.length - 1],
+                getMeanSteps(), stepsPercentile(50), stepsPercentile(90));
+    }
+
+    private static double mean(int[] v) {
+        long sum = 0;
+        for (int x : v) sum += x;
+        return (double) sum / v.length;
+    }
+
+    private static int percentile(int[] sorted, double p) {
+        if (p < 0 || p > 100) throw new IllegalArgumentException("percentile out of range: " + p);
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
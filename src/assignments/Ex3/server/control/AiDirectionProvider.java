@@ -45,4 +45,19 @@ public class AiDirectionProvider implements DirectionProvider {
     public Direction nextDirection(GameState state) {
         return algo.nextMove(state);
     }
-}
\ No newline at end of file
+
+    /**
+     * Computes the next direction within a time budget.
+     *
+     * <p>If the budget runs out before the full decision pipeline finishes, the AI returns the
+     * best move found so far (at worst, any legal move that does not step onto a dangerous ghost).
+     *
+     * @param state the current game state
+     * @param budgetNanos the time available for the decision, in nanoseconds
+     * @return the next {@link Direction} for Pac-Man to move
+     */
+    @Override
+    public Direction nextDirection(GameState state, long budgetNanos) {
+        return algo.nextMove(state, System.nanoTime() + budgetNanos);
+    }
+}
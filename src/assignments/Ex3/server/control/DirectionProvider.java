@@ -15,10 +15,16 @@ import assignments.Ex3.model.GameState;
  *
  * <p>Different implementations can provide different strategies for deciding Pac-Man's movement.
  *
+ * <p>A {@link assignments.Ex3.server.GameLoop} with a decision budget calls
+ * {@link #nextDirection(GameState, long)} instead. Providers whose decision can take long
+ * (search-based AI) override it to return their best answer so far when the budget runs out;
+ * all others keep the default, which ignores the budget.
+ *
  * @author Lidor Ayhoni
  * @version 1.0
  * @since 1.0
  * @see ToggleDirectionProvider
+ * @see assignments.Ex3.server.GameLoop#setDecisionBudgetNanos(long)
  */
 public interface DirectionProvider {
     /**
@@ -31,4 +37,22 @@ public interface DirectionProvider {
      * @return the next direction for Pac-Man to move, or null to maintain current direction
      */
     Direction nextDirection(GameState state);
+
+    /**
+     * Determines the next movement direction for Pac-Man within a time budget (anytime decision).
+     *
+     * <p>The implementation should return no later than {@code budgetNanos} after the call,
+     * with the best answer it has found by then. The game loop passes part of its own budget
+     * here and keeps the rest as a margin; it discards an answer that still arrives late and
+     * keeps Pac-Man's previous direction.
+     *
+     * <p>The default implementation ignores the budget and calls {@link #nextDirection(GameState)}.
+     *
+     * @param state the current game state
+     * @param budgetNanos the time available for the decision, in nanoseconds
+     * @return the next direction for Pac-Man to move, or null to maintain current direction
+     */
+    default Direction nextDirection(GameState state, long budgetNanos) {
+        return nextDirection(state);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,381 @@
+package assignments.Ex3.server.control;
+
+import assignments.Ex3.ThreatField;
+import assignments.Ex3.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pac-Man controller that picks each move by time-bounded Monte Carlo tree search (MCTS).
+ *
+ * <p>Every call of {@link #nextDirection(GameState)} searches for a fixed time budget
+ * ({@link #nextDirection(GameState, long)}: the smaller of that and the caller's budget):
+ * <ul>
+ *   <li><b>Simulation model:</b> ticks are played on a private copy of the state with the real
+ *       rules ({@link GameRules}, {@link CollisionSystem}) and a seeded {@link GhostMovement}, and
+ *       rolled back with {@link GameState#snapshot()} / {@link GameState#restore} between iterations</li>
+ *   <li><b>Tree:</b> open-loop UCT over Pac-Man's moves (ghost moves are sampled, not branched)</li>
+ *   <li><b>Rollout:</b> random legal moves without reversing, up to a fixed horizon</li>
+ *   <li><b>Reward:</b> 0 if a life is lost, 1 if the level is cleared, otherwise a mix of pickups
+ *       eaten and closeness to the nearest remaining pickup (one multi-source BFS per move).
+ *       Eaten ghosts earn nothing extra, so the search clears the level instead of farming
+ *       ghosts that respawn eatable.</li>
+ *   <li><b>Parallelism:</b> root parallelism; each worker thread grows its own tree and the
+ *       root visit counts are summed. The most visited move is played.</li>
+ * </ul>
+ *
+ * <p>The search is anytime: a worker starts another iteration only if the time of its previous
+ * one still fits before the deadline, so a budgeted call returns in time with the best move found.
+ * Threads come from a fixed daemon pool owned by the provider; {@link #close()} releases it.
+ * A provider serves one game at a time.
+ *
+ * @author Lidor Ayhoni
+ * @version 1.0
+ * @since 1.0
+ * @see DirectionProvider
+ * @see GameState.Snapshot
+ */
+public class MctsDirectionProvider implements DirectionProvider, AutoCloseable {
+
+    /** Default search time per move, in milliseconds. */
+    public static final int DEFAULT_BUDGET_MS = 20;
+
+    /** Default number of simulated ticks per iteration (tree part + rollout). */
+    public static final int DEFAULT_HORIZON = 40;
+
+    /** UCT exploration constant (rewards are in [0,1]). */
+    private static final double EXPLORATION = 0.7;
+
+    private static final Direction[] DIRS = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+
+    private final long budgetNs;
+    private final int horizon;
+    private final Worker[] workers;
+    private final ExecutorService pool;
+    private final List<Callable<Void>> tasks = new ArrayList<>();
+
+    private final ThreatField dotField = new ThreatField();
+    private long lastIterations;
+    private int tick = 0;
+
+    /**
+     * Constructs a provider with the default budget, one thread per core and a fixed seed.
+     */
+    public MctsDirectionProvider() {
+        this(DEFAULT_BUDGET_MS, Runtime.getRuntime().availableProcessors(), 1L);
+    }
+
+    /**
+     * Constructs a provider with the default horizon.
+     *
+     * @param budgetMs search time per move, in milliseconds
+     * @param threads number of worker threads (root-parallel trees)
+     * @param seed base seed of the simulated ghosts and rollouts
+     * @throws IllegalArgumentException if budgetMs or threads is not positive
+     */
+    public MctsDirectionProvider(int budgetMs, int threads, long seed) {
+        this(budgetMs, threads, seed, DEFAULT_HORIZON);
+    }
+
+    /**
+     * Constructs a provider.
+     *
+     * @param budgetMs search time per move, in milliseconds
+     * @param threads number of worker threads (root-parallel trees)
+     * @param seed base seed of the simulated ghosts and rollouts
+     * @param horizon simulated ticks per iteration
+     * @throws IllegalArgumentException if any of budgetMs, threads, horizon is not positive
+     */
+    public MctsDirectionProvider(int budgetMs, int threads, long seed, int horizon) {
+        if (budgetMs <= 0) throw new IllegalArgumentException("budgetMs must be positive");
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive");
+        if (horizon <= 0) throw new IllegalArgumentException("horizon must be positive");
+        this.budgetNs = budgetMs * 1_000_000L;
+        this.horizon = horizon;
+
+        this.workers = new Worker[threads];
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < threads; i++) {
+            Worker w = new Worker(seeds.split());
+            workers[i] = w;
+            tasks.add(w);
+        }
+        this.pool = (threads == 1) ? null : Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "mcts");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Searches for the budget and returns the most visited legal move.
+     *
+     * @param state the current game state (not modified)
+     * @return the chosen direction, or {@link Direction#STAY} if Pac-Man cannot move
+     */
+    @Override
+    public Direction nextDirection(GameState state) {
+        return search(state, System.nanoTime() + budgetNs);
+    }
+
+    /**
+     * Searches until the provider's budget or the caller's budget runs out, whichever is first,
+     * and returns the most visited legal move.
+     *
+     * @param state the current game state (not modified)
+     * @param budgetNanos the time available for the decision, in nanoseconds
+     * @return the chosen direction, or {@link Direction#STAY} if Pac-Man cannot move
+     */
+    @Override
+    public Direction nextDirection(GameState state, long budgetNanos) {
+        return search(state, System.nanoTime() + Math.min(budgetNs, budgetNanos));
+    }
+
+    private Direction search(GameState state, long deadline) {
+        lastIterations = 0;
+        int legal = legalMask(state);
+        if (legal == 0) return Direction.STAY;
+        if (Integer.bitCount(legal) == 1) return DIRS[Integer.numberOfTrailingZeros(legal)];
+
+        buildDotField(state);
+        tick++;
+        for (Worker w : workers) w.prepare(state, deadline, tick);
+        runWorkers();
+
+        long[] visits = new long[4];
+        double[] value = new double[4];
+        for (Worker w : workers) {
+            lastIterations += w.iterations;
+            for (int a = 0; a < 4; a++) {
+                Node c = w.root.children[a];
+                if (c == null) continue;
+                visits[a] += c.visits;
+                value[a] += c.value;
+            }
+        }
+
+        int best = -1;
+        for (int a = 0; a < 4; a++) {
+            if ((legal & (1 << a)) == 0 || visits[a] == 0) continue;
+            if (best < 0 || visits[a] > visits[best]
+                    || (visits[a] == visits[best] && value[a] / visits[a] > value[best] / visits[best])) {
+                best = a;
+            }
+        }
+        if (best >= 0) return DIRS[best];
+
+        // no iteration finished within the budget: keep going if that is safe, else any safe move
+        int safe = legal & ~dangerMask(state);
+        int moves = (safe != 0) ? safe : legal;
+        int cur = indexOf(state.pacDir);
+        return (cur >= 0 && (moves & (1 << cur)) != 0) ? state.pacDir : DIRS[Integer.numberOfTrailingZeros(moves)];
+    }
+
+    /** @return the number of MCTS iterations (all workers) spent on the last move */
+    public long getLastIterations() {
+        return lastIterations;
+    }
+
+    /** Stops the worker threads. */
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    private void runWorkers() {
+        if (pool == null) {
+            workers[0].call();
+            return;
+        }
+        try {
+            for (Future<Void> f : pool.invokeAll(tasks)) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof RuntimeException re) throw re;
+            if (c instanceof Error err) throw err;
+            throw new IllegalStateException("MCTS worker failed", c);
+        }
+    }
+
+    /** Distance from every cell to the nearest remaining DOT/POWER, read by the rollout reward. */
+    private void buildDotField(GameState s) {
+        dotField.begin(s.w, s.h, false, (x, y) -> !s.isWall(x, y));
+        for (int c = s.nextDotCell(0); c >= 0; c = s.nextDotCell(c + 1)) dotField.addSource(c / s.h, c % s.h);
+        for (int x = 0; x < s.w; x++) {
+            for (int y = 0; y < s.h; y++) if (s.isPower(x, y)) dotField.addSource(x, y);
+        }
+        dotField.propagate();
+    }
+
+    private static int legalMask(GameState s) {
+        int m = 0;
+        for (int i = 0; i < 4; i++) {
+            if (!s.isWall(s.pacX + DIRS[i].dx, s.pacY + DIRS[i].dy)) m |= 1 << i;
+        }
+        return m;
+    }
+
+    /** @return the moves (bit i = DIRS[i]) that step onto a non-eatable ghost */
+    private static int dangerMask(GameState s) {
+        int m = 0;
+        for (int i = 0; i < 4; i++) {
+            if (s.isDangerGhostAt(s.pacX + DIRS[i].dx, s.pacY + DIRS[i].dy)) m |= 1 << i;
+        }
+        return m;
+    }
+
+    private static int indexOf(Direction d) {
+        if (d == null) return -1;
+        return switch (d) {
+            case UP -> 0;
+            case DOWN -> 1;
+            case LEFT -> 2;
+            case RIGHT -> 3;
+            default -> -1;
+        };
+    }
+
+    /** A tree node: statistics of the move sequence from the root that leads to it. */
+    private static final class Node {
+        final Node[] children = new Node[4];
+        long visits;
+        double value;
+    }
+
+    /** One root-parallel search: its own state copy, ghost model, random source and tree. */
+    private final class Worker implements Callable<Void> {
+        private final SplittableRandom rnd;
+        private final CollisionSystem collisions = new CollisionSystem();
+        private final Node[] path;
+
+        private GameState sim;
+        private GameState.Snapshot start;
+        private GhostMovement ghosts;
+        private long deadline;
+        private int basePickups, baseLives;
+
+        Node root;
+        long iterations;
+
+        Worker(SplittableRandom rnd) {
+            this.rnd = rnd;
+            this.path = new Node[horizon + 1];
+        }
+
+        void prepare(GameState s, long deadline, int tick) {
+            this.sim = s.copy();
+            this.start = sim.snapshot();
+            this.ghosts = new GhostMovement(rnd.nextLong() ^ tick);
+            this.deadline = deadline;
+            this.basePickups = s.getDotsLeft() + s.getPowersLeft();
+            this.baseLives = s.getLives();
+            this.root = new Node();
+            this.iterations = 0;
+        }
+
+        @Override
+        public Void call() {
+            long now = System.nanoTime(), last = 0;
+            while (deadline - now > last) {    // the next iteration is expected to take as long as the last
+                iterate();
+                iterations++;
+                long t = System.nanoTime();
+                last = t - now;
+                now = t;
+            }
+            return null;
+        }
+
+        private void iterate() {
+            sim.restore(start);
+
+            // selection + expansion (one new node per iteration)
+            Node node = root;
+            int depth = 0;
+            int lastMove = indexOf(sim.pacDir);
+            while (depth < horizon && !sim.isDone()) {
+                int legal = legalMask(sim);
+                if (legal == 0) break;
+
+                int a = -1;
+                boolean expanded = false;
+                double bestUcb = Double.NEGATIVE_INFINITY;
+                double logN = Math.log(Math.max(1, node.visits));
+                for (int m = legal; m != 0; m &= m - 1) {
+                    int i = Integer.numberOfTrailingZeros(m);
+                    Node c = node.children[i];
+                    if (c == null) {
+                        a = i;
+                        expanded = true;
+                        break;
+                    }
+                    double ucb = c.value / c.visits + EXPLORATION * Math.sqrt(logN / c.visits);
+                    if (ucb > bestUcb) {
+                        bestUcb = ucb;
+                        a = i;
+                    }
+                }
+                if (expanded) node.children[a] = new Node();
+
+                step(DIRS[a]);
+                lastMove = a;
+                node = node.children[a];
+                path[depth++] = node;
+                if (expanded) break;
+            }
+
+            // rollout
+            for (int t = depth; t < horizon && !sim.isDone() && sim.getLives() == baseLives; t++) {
+                int legal = legalMask(sim);
+                if (legal == 0) break;
+                if (lastMove >= 0 && Integer.bitCount(legal) > 1) legal &= ~(1 << (lastMove ^ 1));
+                int pick = rnd.nextInt(Integer.bitCount(legal));
+                int m = legal;
+                for (int k = 0; k < pick; k++) m &= m - 1;
+                lastMove = Integer.numberOfTrailingZeros(m);
+                step(DIRS[lastMove]);
+            }
+
+            double r = reward();
+            root.visits++;
+            root.value += r;
+            for (int i = 0; i < depth; i++) {
+                path[i].visits++;
+                path[i].value += r;
+            }
+        }
+
+        /** Plays one tick in the same order as the game loop. */
+        private void step(Direction d) {
+            collisions.beginTick(sim);
+            sim.pacDir = d;
+            GameRules.stepPacman(sim, d);
+            GameRules.moveGhosts(sim, ghosts);
+            collisions.resolve(sim);
+            if (sim.isDone()) return;
+            sim.tickPower();
+            if (!GameRules.hasDotsLeft(sim)) sim.done = true;
+        }
+
+        /** @return the reward of the simulated position, in [0,1] */
+        private double reward() {
+            if (sim.getLives() < baseLives) return 0.0;
+            if (!GameRules.hasDotsLeft(sim)) return 1.0;
+
+            int eaten = basePickups - sim.getDotsLeft() - sim.getPowersLeft();
+            double gained = Math.min(1.0, eaten / (horizon / 2.0));
+            int d = dotField.dist(sim.pacX, sim.pacY);
+            double closeness = (d == ThreatField.UNREACHABLE) ? 0.0 : 1.0 / (1 + d);
+            return 0.2 + 0.6 * gained + 0.2 * closeness;
+        }
+    }
+}
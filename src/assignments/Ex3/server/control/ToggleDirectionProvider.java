@@ -76,4 +76,16 @@ public class ToggleDirectionProvider implements DirectionProvider {
     public Direction nextDirection(GameState state) {
         return aiEnabled ? ai.nextDirection(state) : manual.nextDirection(state);
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the next direction within a time budget by delegating to the active provider.
+     *
+     * @param state the current game state
+     * @param budgetNanos the time available for the decision, in nanoseconds
+     * @return the direction from the active provider (AI or manual)
+     */
+    @Override
+    public Direction nextDirection(GameState state, long budgetNanos) {
+        return aiEnabled ? ai.nextDirection(state, budgetNanos) : manual.nextDirection(state, budgetNanos);
+    }
+}
@@ -0,0 +1,99 @@
+package assignments.Ex3;
+
+import assignments.Ex3.model.*;
+import assignments.Ex3.render.AsyncRenderer;
+import assignments.Ex3.render.Renderer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncRendererTest {
+
+    private static class RecordingRenderer implements Renderer {
+        volatile Thread initThread;
+        final List<GameState> frames = new ArrayList<>();
+        final List<Integer> scores = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+
+        @Override public void init(int pixels, int gridW, int gridH) { initThread = Thread.currentThread(); }
+        @Override public void render(GameState s) {
+            frames.add(s);
+            scores.add(s.getScore());
+            threads.add(Thread.currentThread());
+        }
+    }
+
+    private GameState state() {
+        Tile[][] g = new Tile[5][5];
+        for (int x = 0; x < 5; x++) for (int y = 0; y < 5; y++) g[x][y] = Tile.DOT;
+        GameState s = new GameState(g, 2, 2);
+        s.addGhost(new Ghost(1, 1));
+        return s;
+    }
+
+    @Test
+    public void frames_areCopies_drawnOnRenderThread_lastFrameDrawnOnClose() {
+        GameState s = state();
+        RecordingRenderer target = new RecordingRenderer();
+        AsyncRenderer r = new AsyncRenderer(target, 1000);
+        r.init(10, s.w, s.h);
+
+        for (int i = 1; i <= 50; i++) {
+            s.addScore(10);
+            s.setTile(i % 5, 0, Tile.EMPTY);
+            r.render(s);
+        }
+        r.close();
+
+        assertSame(Thread.currentThread(), target.initThread);
+        assertFalse(target.frames.isEmpty());
+        assertEquals(50, r.getPublishedFrames());
+        assertEquals(50, r.getDrawnFrames() + r.getDroppedFrames());
+        assertEquals(r.getDrawnFrames(), target.frames.size());
+
+        // latest frame wins, and the final one is never lost
+        assertEquals(500, target.scores.get(target.scores.size() - 1).intValue());
+        for (int i = 1; i < target.scores.size(); i++) assertTrue(target.scores.get(i) > target.scores.get(i - 1));
+
+        for (int i = 0; i < target.frames.size(); i++) {
+            assertNotSame(s, target.frames.get(i));
+            assertNotSame(Thread.currentThread(), target.threads.get(i));
+        }
+    }
+
+    @Test
+    public void published_frame_isUnaffectedByLaterChanges() {
+        GameState s = state();
+        RecordingRenderer target = new RecordingRenderer();
+        AsyncRenderer r = new AsyncRenderer(target, 1000);
+        r.init(10, s.w, s.h);
+
+        r.render(s);
+        r.close();
+        s.setTile(0, 0, Tile.WALL);
+        s.getGhosts().get(0).setPos(3, 3);
+        s.addScore(100);
+
+        GameState f = target.frames.get(0);
+        assertEquals(Tile.DOT, f.grid[0][0]);
+        assertEquals(1, f.getGhosts().get(0).x());
+        assertEquals(0, f.getScore());
+        assertThrows(IllegalStateException.class, () -> r.render(s));
+    }
+
+    @Test
+    public void renderFailure_isRethrownOnCallerThread() {
+        GameState s = state();
+        AsyncRenderer r = new AsyncRenderer(new Renderer() {
+            @Override public void init(int pixels, int gridW, int gridH) {}
+            @Override public void render(GameState st) { throw new IllegalStateException("boom"); }
+        }, 1000);
+        r.init(10, s.w, s.h);
+        r.render(s);
+
+        assertThrows(IllegalStateException.class, r::close);
+    }
+}
@@ -88,11 +88,11 @@ public class CollisionSystemTest {
     }
 
     @Test
-    public void resolve_multipleGhosts_firstCollisionTriggersAndStops() {
+    public void resolve_multipleDangerGhostsOnPacman_costOneLifePerTick() {
         GameState s = new GameState(open5x5(), 2, 2);
 
         Ghost g1 = new Ghost(2, 2); // collides
-        Ghost g2 = new Ghost(2, 2); // also collides, but resolve returns after first
+        Ghost g2 = new Ghost(2, 2); // collides in the same sweep
 
         // make both non-eatable
         g1.setEatable(false);
@@ -102,9 +102,62 @@ public class CollisionSystemTest {
         s.addGhost(g2);
 
         CollisionSystem cs = new CollisionSystem();
-        cs.resolve(s);
 
-        // should lose exactly 1 life (because resolve returns after first collision)
+        // one sweep sees both hits, but a tick takes at most one life
+        assertEquals(2, cs.resolve(s));
+        assertEquals(2, s.getLives());
+    }
+
+    @Test
+    public void resolve_edgeSwap_isDetected() {
+        GameState s = new GameState(open5x5(), 1, 2);
+        Ghost g = new Ghost(2, 2);
+        s.addGhost(g);
+
+        CollisionSystem cs = new CollisionSystem();
+        cs.beginTick(s);
+        s.pacX = 2;          // Pac-Man steps right ...
+        g.setPos(1, 2);      // ... while the ghost steps left: they trade cells
+
+        assertEquals(1, cs.resolve(s));
+        assertEquals(2, s.getLives());
+    }
+
+    @Test
+    public void resolve_withoutBeginTick_checksSameCellOnly() {
+        GameState s = new GameState(open5x5(), 1, 2);
+        Ghost g = new Ghost(2, 2);
+        s.addGhost(g);
+
+        s.pacX = 2;
+        g.setPos(1, 2);
+
+        CollisionSystem cs = new CollisionSystem();
+        assertEquals(0, cs.resolve(s));
+        assertEquals(3, s.getLives());
+    }
+
+    @Test
+    public void resolve_eatsAllEatableGhosts_andLosesOneLifeForDanger_inOnePass() {
+        GameState s = new GameState(open5x5(), 2, 2);
+        Ghost e1 = new Ghost(2, 2);
+        Ghost e2 = new Ghost(2, 2);
+        Ghost d1 = new Ghost(2, 2);
+        Ghost d2 = new Ghost(2, 2);
+        Ghost away = new Ghost(3, 3);
+        s.addGhost(e1);
+        s.addGhost(d1);
+        s.addGhost(e2);
+        s.addGhost(d2);
+        s.addGhost(away);
+        e1.setEatable(true);
+        e2.setEatable(true);
+
+        CollisionSystem cs = new CollisionSystem();
+        cs.beginTick(s);
+        assertEquals(4, cs.resolve(s));
+
+        assertEquals(400, s.getScore());
         assertEquals(2, s.getLives());
     }
 }
@@ -18,7 +18,11 @@ public class Ex3AlgoTest {
         private final int eatableTicks;
 
         FakeGhost(int x, int y, int eatableTicks) {
-            this.pos = x + "," + y;
+            this(x + "," + y, eatableTicks);
+        }
+
+        FakeGhost(String pos, int eatableTicks) {
+            this.pos = pos;
             this.eatableTicks = eatableTicks;
         }
 
@@ -211,4 +215,67 @@ public class Ex3AlgoTest {
         int dir = algo.move(g);
         assertNotEquals(Game.RIGHT, dir, "Early ticks should avoid stepping on GREEN if another option exists");
     }
+
+    @Test
+    public void snapshot_decodes_positions_and_danger_index() {
+        int[][] b = simpleBoardWithWallsAndDots();
+        GhostCL[] ghosts = new GhostCL[]{
+                new FakeGhost(" 2 , 5 ", 0),
+                null,
+                new FakeGhost(4, 1, 30),
+                new FakeGhost("garbage", 0)
+        };
+        ClientSnapshot snap = new ClientSnapshot();
+        snap.update(new FakeGame(b, 1, 3, ghosts), b, 0);
+
+        assertEquals(1, snap.pacX());
+        assertEquals(3, snap.pacY());
+        assertEquals(3, snap.ghostCount());
+        assertEquals(2, snap.ghostX(0));
+        assertEquals(5, snap.ghostY(0));
+        assertFalse(snap.isDanger(1));
+        assertEquals(0, snap.ghostX(2), "malformed positions decode as (0,0)");
+        assertTrue(snap.powerMode());
+
+        assertTrue(snap.isDangerAt(2, 5));
+        assertFalse(snap.isDangerAt(4, 1), "eatable ghosts are not dangerous");
+        assertFalse(snap.isDangerAt(-1, 9));
+    }
+
+    @Test
+    public void snapshot_update_forgets_previous_tick() {
+        int[][] b = simpleBoardWithWallsAndDots();
+        ClientSnapshot snap = new ClientSnapshot();
+        snap.update(new FakeGame(b, 1, 1, new GhostCL[]{ new FakeGhost(2, 1, 0) }), b, 0);
+        snap.update(new FakeGame(b, 1, 1, new GhostCL[]{ new FakeGhost(5, 5, 0) }), b, 0);
+
+        assertFalse(snap.isDangerAt(2, 1));
+        assertTrue(snap.isDangerAt(5, 5));
+        assertFalse(snap.powerMode());
+    }
+
+    @Test
+    public void after_opening_escapes_danger_ghost_down_a_corridor() {
+        Ex3Algo algo = new Ex3Algo();
+
+        int W = -1;
+        int D = PINK_DOT();
+
+        // 9x5: one open corridor at y=2 (x=1..7) with a dead end above (4,2); a dot on each side of Pac-Man
+        int[][] b = new int[9][5];
+        for (int x = 0; x < 9; x++) for (int y = 0; y < 5; y++) b[x][y] = W;
+        for (int x = 1; x <= 7; x++) b[x][2] = 0;
+        b[4][1] = 0;
+        b[5][2] = D;
+        b[1][2] = D;
+
+        // play through the opening phase in the dead end, with no ghosts (last move: into the corridor)
+        for (int i = 0; i < 30; i++) algo.move(new FakeGame(b, 4, 1, new GhostCL[0]));
+
+        // Pac-Man at (4,2), danger ghost at (7,2): the near dot lies toward the ghost
+        GhostCL[] ghosts = new GhostCL[]{ new FakeGhost(7, 2, 0) };
+        int dir = algo.move(new FakeGame(b, 4, 2, ghosts));
+
+        assertEquals(Game.LEFT, dir, "the ghost 3 steps away must trigger an escape, not the dot toward it");
+    }
 }
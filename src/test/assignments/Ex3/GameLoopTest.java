@@ -4,6 +4,7 @@ import assignments.Ex3.model.*;
 import assignments.Ex3.render.Renderer;
 import assignments.Ex3.server.GameLoop;
 import assignments.Ex3.server.control.DirectionProvider;
+import assignments.Ex3.server.control.ToggleDirectionProvider;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayDeque;
@@ -111,4 +112,76 @@ public class GameLoopTest {
         assertEquals(Tile.EMPTY, s.grid[2][1], "POWER tile should be consumed");
         assertTrue(r.renders > 0, "Renderer should be called at least once");
     }
+
+    @Test
+    public void run_withDecisionBudget_discardsLateAnswer_andPassesBudgetThroughToggle() {
+        Tile[][] g = emptyWithBorderWalls(5, 5);
+        g[2][1] = Tile.DOT;
+
+        // too slow: its LEFT arrives after the budget, so Pac-Man keeps going RIGHT
+        GameState s = new GameState(g, 1, 1);
+        s.pacDir = Direction.RIGHT;
+        DirectionProvider slow = state -> {
+            try { Thread.sleep(20); } catch (InterruptedException ignored) {}
+            return Direction.LEFT;
+        };
+        GameLoop loop = new GameLoop(s, new DummyRenderer(), slow, null, 0);
+        loop.setDecisionBudgetNanos(1_000_000L);
+        loop.run();
+
+        assertEquals(2, s.getPacmanX());
+        assertEquals(1, loop.getProviderTimeouts());
+
+        // an anytime provider behind a toggle receives the budget
+        long[] seen = {-1};
+        DirectionProvider ai = new DirectionProvider() {
+            @Override
+            public Direction nextDirection(GameState state) { return Direction.STAY; }
+
+            @Override
+            public Direction nextDirection(GameState state, long budgetNanos) {
+                seen[0] = budgetNanos;
+                return Direction.RIGHT;
+            }
+        };
+        ToggleDirectionProvider toggle = new ToggleDirectionProvider(new QueueDirectionProvider(), ai);
+        toggle.setAiEnabled(true);
+        g[2][1] = Tile.DOT;
+        s = new GameState(g, 1, 1);
+        loop = new GameLoop(s, new DummyRenderer(), toggle, null, 0);
+        loop.setDecisionBudgetNanos(5_000_000_000L);
+        loop.run();
+
+        assertEquals(4_500_000_000L, seen[0]);    // 90%: the rest is the loop's margin
+        assertEquals(2, s.getPacmanX());
+        assertEquals(0, loop.getProviderTimeouts());
+        assertThrows(IllegalArgumentException.class, () -> new GameLoop(new GameState(g, 1, 1), null, ai).setDecisionBudgetNanos(-1));
+    }
+
+    @Test
+    public void run_withDecisionBudget_keepsAnswerReturnedAtProvidersDeadline() {
+        Tile[][] g = emptyWithBorderWalls(5, 5);
+        g[2][1] = Tile.DOT;
+        GameState s = new GameState(g, 1, 1);
+        s.pacDir = Direction.LEFT;
+
+        // searches until its deadline has passed, then answers through its expiry path
+        DirectionProvider anytime = new DirectionProvider() {
+            @Override
+            public Direction nextDirection(GameState state) { return Direction.STAY; }
+
+            @Override
+            public Direction nextDirection(GameState state, long budgetNanos) {
+                long deadline = System.nanoTime() + budgetNanos;
+                while (System.nanoTime() - deadline < 0) Thread.onSpinWait();
+                return Direction.RIGHT;
+            }
+        };
+        GameLoop loop = new GameLoop(s, new DummyRenderer(), anytime, null, 0);
+        loop.setDecisionBudgetNanos(200_000_000L);
+        loop.run();
+
+        assertEquals(2, s.getPacmanX());
+        assertEquals(0, loop.getProviderTimeouts());
+    }
 }
@@ -40,7 +40,11 @@ public class GameStateTest {
 
         assertEquals(3, s.w);
         assertEquals(3, s.h);
-        assertSame(g, s.grid);
+        assertNotSame(g, s.grid);
+        for (int x = 0; x < 3; x++) assertArrayEquals(g[x], s.grid[x]);
+        g[1][1] = Tile.WALL;    // the state owns a copy of the grid
+        assertEquals(Tile.DOT, s.grid[1][1]);
+        assertFalse(s.isWall(1, 1));
 
         assertEquals(1, s.getPacmanX());
         assertEquals(1, s.getPacmanY());
@@ -342,4 +346,304 @@ public class GameStateTest {
         assertEquals(Direction.STAY, g.dir());
         assertTrue(g.isEatable());
     }
+
+    // ---------- pickup counters ----------
+
+    @Test
+    public void ctor_countsDotsAndPowers() {
+        Tile[][] g = grid5x5Open();
+        g[1][1] = Tile.DOT;
+        g[1][2] = Tile.DOT;
+        g[3][3] = Tile.POWER;
+        GameState s = new GameState(g, 2, 2);
+
+        assertEquals(2, s.getDotsLeft());
+        assertEquals(1, s.getPowersLeft());
+    }
+
+    @Test
+    public void setTile_updatesCounters_andReturnsPrevious() {
+        Tile[][] g = grid5x5Open();
+        g[1][1] = Tile.DOT;
+        GameState s = new GameState(g, 2, 2);
+
+        assertEquals(Tile.DOT, s.setTile(1, 1, Tile.EMPTY));
+        assertEquals(0, s.getDotsLeft());
+
+        assertEquals(Tile.EMPTY, s.setTile(1, 1, Tile.POWER));
+        assertEquals(1, s.getPowersLeft());
+        assertEquals(Tile.POWER, s.grid[1][1]);
+
+        s.setTile(1, 1, Tile.POWER); // no-op
+        assertEquals(1, s.getPowersLeft());
+    }
+
+    // ---------- packed tile bitsets ----------
+
+    @Test
+    public void bitsets_mirrorGrid_andFollowSetTile() {
+        Tile[][] g = new Tile[9][9]; // 81 cells -> spans two 64-bit words
+        for (Tile[] col : g) java.util.Arrays.fill(col, Tile.EMPTY);
+        g[0][0] = Tile.WALL;
+        g[8][8] = Tile.DOT;
+        g[7][1] = Tile.POWER;
+        GameState s = new GameState(g, 4, 4);
+
+        assertTrue(s.isWall(0, 0));
+        assertTrue(s.isDot(8, 8));
+        assertTrue(s.isPower(7, 1));
+        assertFalse(s.isDot(7, 1));
+        assertFalse(s.isDot(-1, 0));
+        assertEquals(1, s.countDots());
+        assertEquals(1, s.countPowers());
+        assertEquals(8 * 9 + 8, s.nextDotCell(0));
+
+        s.setTile(8, 8, Tile.EMPTY);
+        s.setTile(0, 0, Tile.DOT);
+        assertFalse(s.isDot(8, 8));
+        assertFalse(s.isWall(0, 0));
+        assertTrue(s.isDot(0, 0));
+        assertEquals(0, s.nextDotCell(0));
+        assertEquals(-1, s.nextDotCell(1));
+
+        s.setTile(0, 0, Tile.EMPTY);
+        assertFalse(s.anyDotsLeft());
+        assertEquals(s.getDotsLeft(), s.countDots());
+    }
+
+    @Test
+    public void tileJournal_recordsChangedCells() {
+        Tile[][] g = grid5x5Open();
+        g[1][1] = Tile.DOT;
+        GameState s = new GameState(g, 2, 2);
+        assertEquals(0, s.getTileVersion());
+
+        s.setTile(1, 1, Tile.EMPTY);
+        s.setTile(1, 1, Tile.EMPTY); // no-op, not journaled
+        s.setTile(3, 2, Tile.POWER);
+
+        assertEquals(2, s.getTileVersion());
+        assertEquals(1 * 5 + 1, s.changedCell(0));
+        assertEquals(3 * 5 + 2, s.changedCell(1));
+        assertEquals(-1, s.changedCell(2));
+
+        for (int i = 0; i < 2000; i++) s.setTile(1, 1, (i & 1) == 0 ? Tile.DOT : Tile.EMPTY);
+        assertEquals(-1, s.changedCell(0), "old changes are dropped from the journal");
+        assertEquals(1 * 5 + 1, s.changedCell(s.getTileVersion() - 1));
+    }
+
+    // ---------- ghost occupancy index ----------
+
+    @Test
+    public void occupancy_followsMovesAndPowerMode() {
+        GameState s = new GameState(grid5x5Open(), 2, 2);
+        Ghost g = new Ghost(1, 1);
+        s.addGhost(g);
+
+        assertEquals(1, s.ghostCountAt(1, 1));
+        assertTrue(s.isDangerGhostAt(1, 1));
+
+        g.setPos(1, 2);
+        assertEquals(0, s.ghostCountAt(1, 1));
+        assertTrue(s.isDangerGhostAt(1, 2));
+
+        s.activatePower(2);
+        assertEquals(1, s.ghostCountAt(1, 2));
+        assertFalse(s.isDangerGhostAt(1, 2));
+
+        s.tickPower();
+        s.tickPower();
+        assertTrue(s.isDangerGhostAt(1, 2));
+
+        s.resetPositions();
+        assertTrue(s.isDangerGhostAt(1, 1));
+        assertFalse(s.isDangerGhostAt(1, 2));
+        assertFalse(s.isDangerGhostAt(-1, 9));
+    }
+
+    @Test
+    public void addGhost_ownedByAnotherState_throws() {
+        GameState a = new GameState(grid5x5Open(), 2, 2);
+        GameState b = new GameState(grid5x5Open(), 2, 2);
+        Ghost g = new Ghost(1, 1);
+        a.addGhost(g);
+        assertThrows(IllegalArgumentException.class, () -> b.addGhost(g));
+    }
+
+    @Test
+    public void copy_isDeepAndKeepsBoardHistory() {
+        GameState s = new GameState(grid5x5Open(), 2, 2);
+        Ghost g = new Ghost(1, 1);
+        s.addGhost(g);
+        s.setTile(3, 3, Tile.DOT);
+        s.activatePower(5);
+        s.addScore(40);
+
+        GameState c = s.copy();
+        assertNotSame(s.grid, c.grid);
+        assertSame(s.getBoardId(), c.getBoardId());
+        assertNotSame(s.getBoardId(), new GameState(grid5x5Open(), 2, 2).getBoardId());
+        assertEquals(s.getTileVersion(), c.getTileVersion());
+        assertEquals(s.changedCell(0), c.changedCell(0));
+        assertEquals(40, c.getScore());
+        assertTrue(c.isPowerMode());
+        assertTrue(c.isDot(3, 3));
+        assertEquals(1, c.ghostCountAt(1, 1));
+
+        // changes to the original do not reach the copy (and vice versa)
+        s.setTile(3, 3, Tile.EMPTY);
+        g.setPos(1, 2);
+        s.tickPower();
+        assertTrue(c.isDot(3, 3));
+        assertEquals(Tile.DOT, c.grid[3][3]);
+        assertEquals(1, c.getGhosts().get(0).y());
+        assertEquals(1, c.ghostCountAt(1, 1));
+
+        c.getGhosts().get(0).setPos(3, 1);
+        assertEquals(0, s.ghostCountAt(3, 1));
+        assertEquals(1, c.ghostCountAt(3, 1));
+        assertEquals(0, c.ghostCountAt(1, 1));
+    }
+
+    @Test
+    public void ghostStore_swarm_viewsIndexAndPowerStayInSync() {
+        GameState s = new GameState(grid5x5Open(), 2, 2);
+        int n = 3000;
+        for (int i = 0; i < n; i++) s.addGhost(new Ghost(1 + i % 3, 1 + (i / 3) % 3));
+        assertEquals(n, s.getGhostCount());
+        assertEquals(n, s.getGhosts().size());
+        assertSame(s.getGhosts().get(7), s.ghost(7));
+
+        s.activatePower(1);
+        for (int i = 0; i < n; i++) assertTrue(s.isGhostEatable(i));
+        assertFalse(s.isDangerGhostAt(1, 1));
+
+        Ghost g = s.ghost(4);
+        int at33 = s.ghostCountAt(3, 3);
+        g.setPos(3, 3);
+        g.setDir(Direction.LEFT);
+        assertEquals(3, s.ghostX(4));
+        assertEquals(Direction.LEFT, s.ghostDir(4));
+
+        s.tickPower();
+        assertFalse(g.isEatable());
+        assertTrue(s.isDangerGhostAt(3, 3));
+        int total = 0;
+        for (int x = 0; x < 5; x++) for (int y = 0; y < 5; y++) total += s.ghostCountAt(x, y);
+        assertEquals(n, total);
+
+        // respawn goes straight to the ghost's slot
+        s.respawnGhost(g);
+        assertEquals(2, g.x());
+        assertEquals(2, g.y());
+        assertEquals(Direction.STAY, g.dir());
+        assertEquals(at33, s.ghostCountAt(3, 3));
+
+        assertThrows(IllegalArgumentException.class, () -> s.addGhost(g));
+        assertThrows(IndexOutOfBoundsException.class, () -> s.ghostX(n));
+        assertThrows(UnsupportedOperationException.class, () -> s.getGhosts().add(new Ghost(1, 1)));
+    }
+
+    /** Asserts that two states agree on every game field, tile and ghost. */
+    private static void assertSameGame(GameState a, GameState b) {
+        assertEquals(a.pacX, b.pacX);
+        assertEquals(a.pacY, b.pacY);
+        assertEquals(a.pacDir, b.pacDir);
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getLives(), b.getLives());
+        assertEquals(a.isDone(), b.isDone());
+        assertEquals(a.isPowerMode(), b.isPowerMode());
+        assertEquals(a.getDotsLeft(), b.getDotsLeft());
+        assertEquals(a.getPowersLeft(), b.getPowersLeft());
+        for (int x = 0; x < a.w; x++) {
+            for (int y = 0; y < a.h; y++) {
+                assertEquals(a.grid[x][y], b.grid[x][y]);
+                assertEquals(a.isDot(x, y), b.isDot(x, y));
+                assertEquals(a.ghostCountAt(x, y), b.ghostCountAt(x, y));
+                assertEquals(a.isDangerGhostAt(x, y), b.isDangerGhostAt(x, y));
+            }
+        }
+        assertEquals(a.getGhostCount(), b.getGhostCount());
+        for (int i = 0; i < a.getGhostCount(); i++) {
+            assertEquals(a.ghostX(i), b.ghostX(i));
+            assertEquals(a.ghostY(i), b.ghostY(i));
+            assertEquals(a.ghostDir(i), b.ghostDir(i));
+            assertEquals(a.isGhostEatable(i), b.isGhostEatable(i));
+        }
+    }
+
+    /** Plays {@code ticks} seeded ticks with a fixed Pac-Man direction cycle. */
+    private static void play(GameState s, GhostMovement gm, CollisionSystem cs, int ticks) {
+        Direction[] dirs = {Direction.RIGHT, Direction.UP, Direction.LEFT, Direction.DOWN};
+        for (int t = 0; t < ticks && !s.isDone(); t++) {
+            cs.beginTick(s);
+            GameRules.stepPacman(s, dirs[(t / 3) % 4]);
+            GameRules.moveGhosts(s, gm);
+            cs.resolve(s);
+            s.tickPower();
+        }
+    }
+
+    @Test
+    public void snapshot_restore_rollsBackPlayedTicks_repeatedly() {
+        Tile[][] g = grid5x5Open();
+        for (int x = 1; x < 4; x++) for (int y = 1; y < 4; y++) g[x][y] = Tile.DOT;
+        g[3][3] = Tile.POWER;
+        GameState s = new GameState(g, 2, 2);
+        s.addGhost(new Ghost(1, 1));
+        s.addGhost(new Ghost(3, 1));
+        GhostMovement gm = new GhostMovement(11L);
+        CollisionSystem cs = new CollisionSystem();
+
+        play(s, gm, cs, 3);
+        GameState expected = s.copy();
+        GameState.Snapshot root = s.snapshot();
+
+        for (int rollout = 0; rollout < 5; rollout++) {
+            play(s, gm, cs, 10 + rollout * 7);
+            s.restore(root);
+            assertSameGame(expected, s);
+        }
+
+        // nested snapshots; restoring the outer one discards the inner one's history
+        play(s, gm, cs, 2);
+        s.setTile(1, 3, Tile.POWER);
+        GameState.Snapshot inner = s.snapshot();
+        long version = s.getTileVersion();
+        s.restore(root);
+        assertTrue(s.getTileVersion() >= version);
+        s.setTile(1, 1, Tile.WALL);
+        assertThrows(IllegalStateException.class, () -> s.restore(inner));
+        s.restore(root);
+        assertSameGame(expected, s);
+
+        assertThrows(IllegalArgumentException.class, () -> s.copy().restore(root));
+        assertThrows(IllegalArgumentException.class, () -> s.restore(null));
+    }
+
+    @Test
+    public void truncateGhosts_detachesRemoved_andKeepsIndexInSync() {
+        GameState s = new GameState(grid5x5Open(), 1, 1);
+        Ghost a = new Ghost(2, 2), b = new Ghost(3, 3);
+        s.addGhost(a);
+        s.addGhost(b);
+        s.activatePower(10);
+        b.setPos(3, 2);
+        GameState.Snapshot snap = s.snapshot();
+
+        s.truncateGhosts(1);
+
+        assertEquals(1, s.getGhostCount());
+        assertSame(a, s.getGhosts().get(0));
+        assertEquals(0, s.ghostCountAt(3, 2));
+        assertEquals(3, b.x());
+        assertEquals(2, b.y());
+        assertTrue(b.isEatable());
+        assertThrows(IllegalStateException.class, () -> s.restore(snap));
+        assertThrows(IllegalArgumentException.class, () -> s.truncateGhosts(2));
+
+        s.truncateGhosts(0);
+        s.addGhost(b);    // a detached ghost can be added again
+        assertEquals(1, s.ghostCountAt(3, 2));
+    }
 }
@@ -3,6 +3,8 @@ package assignments.Ex3;
 import assignments.Ex3.model.*;
 import org.junit.jupiter.api.Test;
 
+import java.util.random.RandomGeneratorFactory;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GhostMovementTest {
@@ -61,4 +63,77 @@ public class GhostMovementTest {
 
         assertFalse(s.isWall(nx, ny));
     }
+
+    @Test
+    public void chooseNext_seededGenerator_isReproducible_andAvoidsReverse() {
+        GameState s = new GameState(open5x5(), 3, 3);
+        GhostMovement a = new GhostMovement(RandomGeneratorFactory.of("L64X128MixRandom").create(42));
+        GhostMovement b = new GhostMovement(RandomGeneratorFactory.of("L64X128MixRandom").create(42));
+
+        for (Direction cur : Direction.values()) {
+            for (int i = 0; i < 20; i++) {
+                Ghost g = new Ghost(2, 2);
+                g.setDir(cur);
+                Direction d = a.chooseNext(g, s);
+                assertEquals(d, b.chooseNext(g, s));
+                assertFalse(s.isWall(2 + d.dx, 2 + d.dy));
+                boolean reversed = cur != Direction.STAY && d.dx == -cur.dx && d.dy == -cur.dy;
+                assertFalse(reversed, "reversed from " + cur);
+            }
+        }
+    }
+
+    @Test
+    public void chooseNext_reverseIsOnlyOtherExit_keepsGoing() {
+        Tile[][] grid = open5x5();
+        grid[2][2] = Tile.WALL;
+        GameState s = new GameState(grid, 3, 3);
+        Ghost g = new Ghost(1, 2);
+        g.setDir(Direction.UP);
+
+        assertEquals(Direction.UP, new GhostMovement(7L).chooseNext(g, s));
+    }
+
+    /** 7x5 board; a wall column at x=3 (y=2..3) forces the path from the left half to go below it. */
+    private GameState wallBetween() {
+        Tile[][] g = new Tile[7][5];
+        for (int x = 0; x < 7; x++) {
+            for (int y = 0; y < 5; y++) {
+                boolean border = x == 0 || y == 0 || x == 6 || y == 4;
+                g[x][y] = border ? Tile.WALL : Tile.EMPTY;
+            }
+        }
+        g[3][2] = Tile.WALL;
+        g[3][3] = Tile.WALL;
+        return new GameState(g, 4, 3);
+    }
+
+    private int countMoves(GhostMovement gm, GameState s, Direction wanted) {
+        int n = 0;
+        for (int i = 0; i < 1000; i++) {
+            Ghost g = new Ghost(2, 2);
+            if (gm.chooseNext(g, s) == wanted) n++;
+        }
+        return n;
+    }
+
+    @Test
+    public void flowField_followsPathAroundWalls_manhattanDoesNot() {
+        GameState s = wallBetween();
+
+        // UP looks closest in a straight line, but the real path to Pac-Man goes DOWN and around
+        GhostMovement manhattan = new GhostMovement(3L);
+        GhostMovement flow = new GhostMovement(3L);
+        flow.setPursuit(GhostMovement.Pursuit.FLOW_FIELD);
+
+        assertEquals(GhostMovement.Pursuit.MANHATTAN, manhattan.getPursuit());
+        assertTrue(countMoves(flow, s, Direction.DOWN) > 500);
+        assertTrue(countMoves(manhattan, s, Direction.DOWN) < 300);
+
+        // the field follows Pac-Man
+        s.pacX = 1;
+        s.pacY = 3;
+        assertTrue(countMoves(flow, s, Direction.UP) > 500);
+        assertThrows(IllegalArgumentException.class, () -> flow.setPursuit(null));
+    }
 }
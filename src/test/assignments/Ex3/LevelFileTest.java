@@ -0,0 +1,92 @@
+package assignments.Ex3;
+
+import assignments.Ex3.levels.LevelFile;
+import assignments.Ex3.levels.LevelLoader;
+import assignments.Ex3.levels.LevelRegistry;
+import assignments.Ex3.model.GameState;
+import assignments.Ex3.model.Ghost;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelFileTest {
+
+    private static void assertSameLevel(GameState a, GameState b) {
+        assertEquals(a.w, b.w);
+        assertEquals(a.h, b.h);
+        for (int x = 0; x < a.w; x++) assertArrayEquals(a.grid[x], b.grid[x], "column " + x);
+        assertEquals(a.getPacmanX(), b.getPacmanX());
+        assertEquals(a.getPacmanY(), b.getPacmanY());
+        assertEquals(a.getGhosts().size(), b.getGhosts().size());
+        for (int i = 0; i < a.getGhosts().size(); i++) {
+            Ghost ga = a.getGhosts().get(i), gb = b.getGhosts().get(i);
+            assertEquals(ga.x(), gb.x());
+            assertEquals(ga.y(), gb.y());
+        }
+    }
+
+    @Test
+    public void binary_and_text_roundTrip_builtInLevels() throws IOException {
+        Path dir = Files.createTempDirectory("levels");
+        for (String name : LevelRegistry.builtIn().names()) {
+            GameState s = LevelRegistry.builtIn().load(name);
+
+            Path bin = dir.resolve(name + LevelFile.BINARY_EXT);
+            LevelFile.writeBinary(s, bin);
+            assertSameLevel(s, LevelFile.load(bin));
+
+            Path txt = dir.resolve(name + LevelFile.TEXT_EXT);
+            LevelFile.writeText(s, txt);
+            assertSameLevel(s, LevelFile.load(txt));
+        }
+    }
+
+    @Test
+    public void text_pacmanCell_flipsRows() {
+        String text = "#####\n#P.o#\n#G  #\n#####\n";
+        GameState s = LevelFile.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(5, s.w);
+        assertEquals(4, s.h);
+        assertEquals(1, s.getPacmanX());
+        assertEquals(2, s.getPacmanY());
+        assertEquals(1, s.getDotsLeft());
+        assertEquals(1, s.getPowersLeft());
+        assertEquals(1, s.getGhosts().size());
+        assertEquals(1, s.getGhosts().get(0).y());
+    }
+
+    @Test
+    public void invalid_levels_throw() {
+        assertThrows(IllegalArgumentException.class, () -> LevelFile.parse(ByteBuffer.allocate(0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> LevelFile.parse(ByteBuffer.wrap("###\n#.#\n###\n".getBytes(StandardCharsets.US_ASCII))));
+        assertThrows(IllegalArgumentException.class,
+                () -> LevelFile.parse(ByteBuffer.wrap("#P#\n#x#\n".getBytes(StandardCharsets.US_ASCII))));
+
+        byte[] bin = LevelFile.toBinary(LevelLoader.level0());
+        ByteBuffer truncated = ByteBuffer.wrap(bin, 0, bin.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> LevelFile.parse(truncated));
+    }
+
+    @Test
+    public void registry_scan_listsLevelFilesByName() throws IOException {
+        Path dir = Files.createTempDirectory("levels");
+        LevelFile.writeBinary(LevelLoader.level1(), dir.resolve("b" + LevelFile.BINARY_EXT));
+        LevelFile.writeText(LevelLoader.level0(), dir.resolve("a" + LevelFile.TEXT_EXT));
+        Files.writeString(dir.resolve("notes.md"), "not a level");
+
+        LevelRegistry r = LevelRegistry.scan(dir);
+        assertEquals(List.of("a", "b"), r.names());
+        assertSameLevel(LevelLoader.level1(), r.load("b"));
+        assertNotSame(r.load("a"), r.load("a"));
+        assertThrows(IllegalArgumentException.class, () -> r.load("missing"));
+    }
+}
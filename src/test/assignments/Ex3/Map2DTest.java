@@ -87,4 +87,29 @@ public class Map2DTest {
         assertEquals(-1, dist.getPixel(1,1)); // obstacle itself remains -1
         assertTrue(dist.getPixel(2,2) >= 0);  // reachable
     }
+
+    @Test
+    public void allDistance_cyclic_wraps_around_edges() {
+        Map2D m = new Map(5, 1, 0);
+        m.setCyclic(true);
+        Map2D dist = m.allDistance(new Index2D(0,0), -1);
+        assertEquals(1, dist.getPixel(4,0));  // one step left through the edge
+        m.setCyclic(false);
+        dist = m.allDistance(new Index2D(0,0), -1);
+        assertEquals(4, dist.getPixel(4,0));
+    }
+
+    @Test
+    public void repeated_calls_reuse_workspace_and_stay_correct() {
+        Map2D m = map3x3();
+        m.setCyclic(false);
+        for (int i = 0; i < 5; i++) {
+            Pixel2D[] path = m.shortestPath(new Index2D(0,0), new Index2D(2,2), -1);
+            assertEquals(5, path.length);
+            assertEquals(4, m.allDistance(new Index2D(0,0), -1).getPixel(2,2));
+        }
+        assertEquals(8, m.fill(new Index2D(0,0), 3));
+        assertEquals(8, m.fill(new Index2D(2,2), 4));
+        assertNull(m.shortestPath(new Index2D(0,0), new Index2D(1,1), -1));
+    }
 }
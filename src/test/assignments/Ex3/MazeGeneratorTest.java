@@ -0,0 +1,94 @@
+package assignments.Ex3;
+
+import assignments.Ex3.levels.MazeGenerator;
+import assignments.Ex3.model.GameState;
+import assignments.Ex3.model.Ghost;
+import assignments.Ex3.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MazeGeneratorTest {
+
+    /** @return the number of non-wall cells reachable from Pac-Man's spawn. */
+    private static int reachable(GameState s) {
+        boolean[][] seen = new boolean[s.w][s.h];
+        ArrayDeque<int[]> q = new ArrayDeque<>();
+        q.add(new int[]{s.getPacmanX(), s.getPacmanY()});
+        seen[s.getPacmanX()][s.getPacmanY()] = true;
+        int n = 0;
+        while (!q.isEmpty()) {
+            int[] c = q.poll();
+            n++;
+            int[][] nb = {{c[0], c[1] + 1}, {c[0] - 1, c[1]}, {c[0], c[1] - 1}, {c[0] + 1, c[1]}};
+            for (int[] p : nb) {
+                if (s.isWall(p[0], p[1]) || seen[p[0]][p[1]]) continue;
+                seen[p[0]][p[1]] = true;
+                q.add(p);
+            }
+        }
+        return n;
+    }
+
+    private static int count(GameState s, Tile t) {
+        int n = 0;
+        for (Tile[] col : s.grid) for (Tile x : col) if (x == t) n++;
+        return n;
+    }
+
+    @Test
+    public void generate_isConnected_symmetric_andHonorsSettings() {
+        for (int[] size : new int[][]{{11, 11}, {28, 31}, {41, 30}, {63, 47}}) {
+            for (long seed = 1; seed <= 5; seed++) {
+                GameState s = new MazeGenerator(size[0], size[1], seed).ghosts(5).powers(4).generate();
+                String tag = size[0] + "x" + size[1] + " seed " + seed;
+
+                assertEquals(size[0], s.w, tag);
+                assertEquals(size[1], s.h, tag);
+                assertEquals(s.w * s.h - count(s, Tile.WALL), reachable(s), tag + ": all open cells connected");
+                assertEquals(5, s.getGhosts().size(), tag);
+                assertEquals(4, s.getPowersLeft(), tag);
+                assertTrue(s.getDotsLeft() > 0, tag);
+                assertFalse(s.isWall(s.getPacmanX(), s.getPacmanY()), tag);
+                for (Ghost g : s.getGhosts()) assertFalse(s.isWall(g.x(), g.y()), tag);
+
+                for (int x = 0; x < s.w; x++) {
+                    for (int y = 0; y < s.h; y++) {
+                        assertEquals(s.isWall(x, y), s.isWall(s.w - 1 - x, y), tag + ": mirrored walls at " + x + "," + y);
+                    }
+                }
+                for (int i = 0; i < s.w; i++) assertTrue(s.isWall(i, 0) && s.isWall(i, s.h - 1), tag + ": border");
+            }
+        }
+    }
+
+    @Test
+    public void generate_isDeterministicPerSeed() {
+        GameState a = new MazeGenerator(41, 31, 7).generate();
+        GameState b = new MazeGenerator(41, 31, 7).generate();
+        GameState c = new MazeGenerator(41, 31, 8).generate();
+        for (int x = 0; x < a.w; x++) assertArrayEquals(a.grid[x], b.grid[x]);
+
+        boolean differs = false;
+        for (int x = 0; x < a.w && !differs; x++) differs = !java.util.Arrays.equals(a.grid[x], c.grid[x]);
+        assertTrue(differs, "different seeds should give different mazes");
+    }
+
+    @Test
+    public void dotDensity_zero_and_large_boards() {
+        assertEquals(0, new MazeGenerator(31, 31, 1).dotDensity(0).generate().getDotsLeft());
+
+        GameState big = new MazeGenerator(1001, 801, 3).generate();
+        assertEquals(big.w * big.h - count(big, Tile.WALL), reachable(big));
+    }
+
+    @Test
+    public void invalid_settings_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new MazeGenerator(5, 40, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MazeGenerator(40, 40, 1).dotDensity(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new MazeGenerator(40, 40, 1).powers(-1));
+        assertThrows(IllegalArgumentException.class, () -> new MazeGenerator(11, 11, 1).ghosts(20));
+    }
+}
@@ -0,0 +1,90 @@
+package assignments.Ex3;
+
+import assignments.Ex3.model.*;
+import assignments.Ex3.server.control.AiDirectionProvider;
+import assignments.Ex3.server.control.MctsDirectionProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsDirectionProviderTest {
+
+    /**
+     * 7x5 board with one ring of open cells around a wall block (x=2..4, y=2).
+     * Pac-Man at (3,1), a ghost next to it at (2,1), dots on the rest of the ring.
+     */
+    private GameState ring() {
+        Tile[][] g = new Tile[7][5];
+        for (int x = 0; x < 7; x++) for (int y = 0; y < 5; y++) g[x][y] = Tile.WALL;
+        for (int x = 1; x <= 5; x++) {
+            g[x][1] = Tile.DOT;
+            g[x][3] = Tile.DOT;
+        }
+        g[1][2] = Tile.DOT;
+        g[5][2] = Tile.DOT;
+        g[3][1] = Tile.EMPTY;
+        g[2][1] = Tile.EMPTY;
+
+        GameState s = new GameState(g, 3, 1);
+        s.addGhost(new Ghost(2, 1));
+        return s;
+    }
+
+    @Test
+    public void nextDirection_movesAwayFromGhost_withoutTouchingState() {
+        GameState s = ring();
+        long version = s.getTileVersion();
+
+        try (MctsDirectionProvider p = new MctsDirectionProvider(30, 2, 7L, 10)) {
+            assertEquals(Direction.RIGHT, p.nextDirection(s));
+            assertTrue(p.getLastIterations() > 0);
+        }
+
+        assertEquals(3, s.pacX);
+        assertEquals(3, s.getLives());
+        assertEquals(0, s.getScore());
+        assertEquals(version, s.getTileVersion());
+        assertEquals(2, s.getGhosts().get(0).x());
+    }
+
+    @Test
+    public void nextDirection_singleExit_isTakenWithoutSearch() {
+        Tile[][] g = new Tile[5][3];
+        for (int x = 0; x < 5; x++) for (int y = 0; y < 3; y++) g[x][y] = Tile.WALL;
+        g[1][1] = Tile.EMPTY;
+        g[2][1] = Tile.DOT;
+        GameState s = new GameState(g, 1, 1);
+
+        try (MctsDirectionProvider p = new MctsDirectionProvider(5, 1, 1L)) {
+            assertTrue(p.nextDirection(ring()) != null && p.getLastIterations() > 0);
+            assertEquals(Direction.RIGHT, p.nextDirection(s));
+            assertEquals(0, p.getLastIterations(), "the count of the previous search is not carried over");
+        }
+        assertThrows(IllegalArgumentException.class, () -> new MctsDirectionProvider(0, 1, 1L));
+    }
+
+    @Test
+    public void nextDirection_withBudget_answersInTime_withSafeMove() {
+        GameState s = ring();
+
+        try (MctsDirectionProvider p = new MctsDirectionProvider(10_000, 1, 3L)) {
+            long t0 = System.nanoTime();
+            assertEquals(Direction.RIGHT, p.nextDirection(s, 20_000_000L));
+            assertTrue(System.nanoTime() - t0 < 1_000_000_000L, "the caller's budget caps the search");
+        }
+
+        // an expired budget still yields a legal move that avoids the ghost
+        assertEquals(Direction.RIGHT, new AiDirectionProvider().nextDirection(s, 0));
+    }
+
+    @Test
+    public void nextDirection_expiredBudget_fallsBackToSafeMove() {
+        GameState s = ring();
+        s.pacDir = Direction.LEFT;    // keeping this direction would walk onto the ghost
+
+        try (MctsDirectionProvider p = new MctsDirectionProvider(20, 1, 5L)) {
+            assertEquals(Direction.RIGHT, p.nextDirection(s, 0));
+            assertEquals(0, p.getLastIterations());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package assignments.Ex3;
+
+import assignments.Ex3.model.*;
+import assignments.Ex3.server.ServerEx3Algo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerEx3AlgoTest {
+
+    /** 9x3 board: a corridor at y=1 (x=1..7) with a dot at each end, Pac-Man at (px,1). */
+    private GameState corridor(int px) {
+        Tile[][] g = new Tile[9][3];
+        for (int x = 0; x < 9; x++) for (int y = 0; y < 3; y++) g[x][y] = Tile.WALL;
+        for (int x = 1; x <= 7; x++) g[x][1] = Tile.EMPTY;
+        g[1][1] = Tile.DOT;
+        g[7][1] = Tile.DOT;
+        return new GameState(g, px, 1);
+    }
+
+    @Test
+    public void nextMove_continuesFromAppliedDirection_afterDiscardedAnswer() {
+        ServerEx3Algo algo = new ServerEx3Algo();
+        GameState s = corridor(4);
+        for (int i = 0; i < 30; i++) {    // past the opening, applying every answer
+            s.pacDir = algo.nextMove(s);
+        }
+        assertEquals(Direction.RIGHT, s.pacDir);
+
+        // the loop discarded the last RIGHT and kept LEFT: both dots are 3 away, so keep going LEFT
+        s.pacDir = Direction.LEFT;
+        assertEquals(Direction.LEFT, algo.nextMove(s));
+    }
+}
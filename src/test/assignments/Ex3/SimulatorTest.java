@@ -0,0 +1,55 @@
+package assignments.Ex3;
+
+import assignments.Ex3.levels.LevelLoader;
+import assignments.Ex3.model.*;
+import assignments.Ex3.server.SimulationResult;
+import assignments.Ex3.server.Simulator;
+import assignments.Ex3.server.control.AiDirectionProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulatorTest {
+
+    @Test
+    public void run_eatsSingleDot_andReportsWin() {
+        Tile[][] g = new Tile[5][3];
+        for (int x = 0; x < 5; x++) for (int y = 0; y < 3; y++) g[x][y] = Tile.WALL;
+        g[1][1] = Tile.EMPTY;
+        g[2][1] = Tile.DOT;
+
+        GameState s = new GameState(g, 1, 1);
+        SimulationResult r = new Simulator(s, st -> Direction.RIGHT, 1L).run();
+
+        assertTrue(r.won());
+        assertEquals(10, r.score());
+        assertEquals(1, r.steps());
+        assertTrue(s.isDone());
+    }
+
+    @Test
+    public void run_stopsAtMaxSteps() {
+        Tile[][] g = new Tile[5][3];
+        for (int x = 0; x < 5; x++) for (int y = 0; y < 3; y++) g[x][y] = Tile.WALL;
+        g[1][1] = Tile.EMPTY;
+        g[3][1] = Tile.DOT; // walled off, never reachable
+
+        GameState s = new GameState(g, 1, 1);
+        SimulationResult r = new Simulator(s, st -> Direction.STAY, 1L, 50).run();
+
+        assertFalse(r.won());
+        assertEquals(50, r.steps());
+        assertTrue(s.isDone());
+    }
+
+    @Test
+    public void run_sameSeed_replaysSameGame() {
+        SimulationResult a = new Simulator(LevelLoader.level1(), new AiDirectionProvider(), 42L, 2_000).run();
+        SimulationResult b = new Simulator(LevelLoader.level1(), new AiDirectionProvider(), 42L, 2_000).run();
+
+        assertEquals(a.score(), b.score());
+        assertEquals(a.lives(), b.lives());
+        assertEquals(a.steps(), b.steps());
+        assertEquals(a.won(), b.won());
+    }
+}
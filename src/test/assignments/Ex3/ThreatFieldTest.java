@@ -0,0 +1,74 @@
+package assignments.Ex3;
+
+import assignments.Ex3.levels.LevelLoader;
+import assignments.Ex3.model.GameState;
+import assignments.Ex3.model.Ghost;
+import assignments.Ex3.model.Tile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreatFieldTest {
+
+    @Test
+    public void multi_source_matches_min_of_per_ghost_distances_on_level2() {
+        GameState s = LevelLoader.level2();
+        boolean[][] wall = new boolean[s.w][s.h];
+        for (int x = 0; x < s.w; x++) {
+            for (int y = 0; y < s.h; y++) wall[x][y] = s.grid[x][y] == Tile.WALL;
+        }
+
+        ThreatField f = new ThreatField();
+        f.begin(s.w, s.h, false, (x, y) -> !wall[x][y]);
+        for (Ghost g : s.getGhosts()) f.addSource(g.x(), g.y());
+        f.propagate();
+
+        // one single-source field per ghost
+        int n = s.getGhosts().size();
+        ThreatField[] single = new ThreatField[n];
+        for (int i = 0; i < n; i++) {
+            Ghost g = s.getGhosts().get(i);
+            single[i] = new ThreatField();
+            single[i].begin(s.w, s.h, false, (x, y) -> !wall[x][y]);
+            single[i].addSource(g.x(), g.y());
+            single[i].propagate();
+        }
+
+        for (int x = 0; x < s.w; x++) {
+            for (int y = 0; y < s.h; y++) {
+                if (wall[x][y]) continue;
+                int expected = Integer.MAX_VALUE;
+                for (ThreatField one : single) expected = Math.min(expected, one.dist(x, y));
+                assertEquals(expected, f.dist(x, y), "cell " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    public void blocked_cells_get_a_distance_but_are_not_expanded() {
+        // corridor 5x1: source at 0, cell 2 blocked
+        ThreatField f = new ThreatField();
+        f.begin(5, 1, false, (x, y) -> x != 2);
+        f.addSource(0, 0);
+        f.propagate();
+
+        assertEquals(0, f.dist(0, 0));
+        assertEquals(1, f.dist(1, 0));
+        assertEquals(2, f.dist(2, 0));
+        assertEquals(ThreatField.UNREACHABLE, f.dist(3, 0));
+        assertEquals(ThreatField.UNREACHABLE, f.dist(9, 9));
+    }
+
+    @Test
+    public void cyclic_wraps_and_begin_resets_sources() {
+        ThreatField f = new ThreatField();
+        f.begin(6, 1, true, (x, y) -> true);
+        f.addSource(0, 0);
+        f.propagate();
+        assertEquals(1, f.dist(5, 0));
+
+        f.begin(6, 1, true, (x, y) -> true);
+        f.propagate();
+        assertEquals(ThreatField.UNREACHABLE, f.dist(0, 0));
+    }
+}
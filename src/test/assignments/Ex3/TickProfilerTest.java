@@ -0,0 +1,74 @@
+package assignments.Ex3;
+
+import assignments.Ex3.model.*;
+import assignments.Ex3.render.Renderer;
+import assignments.Ex3.server.GameLoop;
+import assignments.Ex3.server.TickProfiler;
+import assignments.Ex3.server.TickProfiler.Phase;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickProfilerTest {
+
+    @Test
+    public void percentiles_areWithinBucketPrecision() {
+        TickProfiler p = new TickProfiler();
+        for (long v = 1; v <= 1000; v++) p.record(Phase.MOVE_GHOSTS, v * 1000);
+
+        assertEquals(1000, p.count(Phase.MOVE_GHOSTS));
+        assertEquals(500_500.0, p.meanNanos(Phase.MOVE_GHOSTS), 1e-9);
+        assertEquals(1_000_000, p.maxNanos(Phase.MOVE_GHOSTS));
+        assertEquals(1_000_000, p.percentileNanos(Phase.MOVE_GHOSTS, 100));
+
+        long p50 = p.percentileNanos(Phase.MOVE_GHOSTS, 50);
+        long p99 = p.percentileNanos(Phase.MOVE_GHOSTS, 99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.07, "p50 " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+
+        assertEquals(0, p.count(Phase.RENDER));
+        assertEquals(0, p.percentileNanos(Phase.RENDER, 50));
+        assertThrows(IllegalArgumentException.class, () -> p.percentileNanos(Phase.TICK, 101));
+
+        p.record(Phase.TICK, 7);
+        assertEquals(7, p.percentileNanos(Phase.TICK, 50));   // small values are exact
+        p.record(Phase.TICK, Long.MAX_VALUE);                   // beyond the range: last bucket, exact max
+        assertEquals(Long.MAX_VALUE, p.maxNanos(Phase.TICK));
+
+        p.reset();
+        assertEquals(0, p.count(Phase.MOVE_GHOSTS));
+    }
+
+    @Test
+    public void gameLoop_recordsEveryPhase_andDumpsPeriodically() {
+        Tile[][] g = new Tile[5][5];
+        for (int x = 0; x < 5; x++) for (int y = 0; y < 5; y++) g[x][y] = (x == 0 || y == 0 || x == 4 || y == 4) ? Tile.WALL : Tile.EMPTY;
+        g[3][3] = Tile.DOT;
+        GameState s = new GameState(g, 2, 2);
+
+        Renderer r = new Renderer() {
+            @Override public void init(int pixels, int gridW, int gridH) {}
+            @Override public void render(GameState st) {}
+        };
+        GameLoop loop = new GameLoop(s, r, st -> Direction.STAY, null, 0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TickProfiler prof = new TickProfiler(5000, new PrintStream(bytes, true));
+        loop.setProfiler(prof);
+        loop.run();
+
+        assertEquals(20_000, prof.getTicks());
+        assertEquals(20_000, prof.count(Phase.PROVIDER));
+        assertEquals(20_000, prof.count(Phase.RESOLVE));
+        assertEquals(20_000, prof.count(Phase.RENDER));
+        assertEquals(20_000, prof.count(Phase.TICK));
+        assertTrue(prof.maxNanos(Phase.TICK) >= prof.maxNanos(Phase.PROVIDER));
+
+        String out = bytes.toString();
+        assertEquals(4, out.split("tick profile after", -1).length - 1);
+        assertTrue(out.contains("move_ghosts"));
+    }
+}
@@ -0,0 +1,84 @@
+package assignments.Ex3;
+
+import assignments.Ex3.server.TickScheduler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickSchedulerTest {
+
+    private static void busy(long ms) {
+        long end = System.nanoTime() + ms * 1_000_000L;
+        while (System.nanoTime() < end) Thread.onSpinWait();
+    }
+
+    @Test
+    public void ticks_followAbsoluteDeadlines_workTimeDoesNotAddUp() {
+        TickScheduler t = new TickScheduler(50);
+        long start = System.nanoTime();
+        t.start();
+        for (int i = 0; i < 6; i++) {
+            busy(25);
+            t.awaitNextTick();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+        // 6 periods of 50ms = 300ms; a "sleep after work" loop would take at least 6 * 75ms = 450ms
+        assertTrue(elapsedMs >= 299, "elapsed " + elapsedMs);
+        assertTrue(elapsedMs < 450, "elapsed " + elapsedMs);
+        assertEquals(6, t.getTicks());
+    }
+
+    @Test
+    public void slowTick_isMissed_thenCaughtUpWithoutRendering() {
+        TickScheduler t = new TickScheduler(20_000_000L, 10, 5);
+        t.start();
+        busy(50);                          // 2.5 periods over budget
+        assertFalse(t.shouldRender());
+        t.awaitNextTick();
+        assertEquals(1, t.getMissedDeadlines());
+        assertEquals(1, t.getSkippedFrames());
+
+        // the next tick is still behind: it starts at once (counted as a miss, not waited for)
+        t.awaitNextTick();
+        assertEquals(2, t.getMissedDeadlines());
+        assertEquals(2, t.getTicks());
+        assertEquals(0, t.getResyncs());
+    }
+
+    @Test
+    public void farBehind_resyncs_andFrameSkipIsBounded() {
+        TickScheduler t = new TickScheduler(5_000_000L, 2, 3);
+        t.start();
+        busy(40);
+        for (int i = 0; i < 3; i++) assertFalse(t.shouldRender());
+        assertTrue(t.shouldRender());     // never skip more than maxFrameSkip in a row
+        t.awaitNextTick();
+        assertEquals(1, t.getResyncs());
+    }
+
+    @Test
+    public void zeroPeriod_isUnthrottled() {
+        TickScheduler t = new TickScheduler(0);
+        t.start();
+        busy(2);
+        assertTrue(t.shouldRender());
+        t.awaitNextTick();
+        assertEquals(0, t.getMissedDeadlines());
+        assertThrows(IllegalArgumentException.class, () -> new TickScheduler(-1));
+    }
+
+    @Test
+    public void interrupt_endsWait_andStaysSet() {
+        TickScheduler t = new TickScheduler(10_000);
+        t.start();
+        Thread.currentThread().interrupt();
+        try {
+            t.awaitNextTick();    // would otherwise wait 10 s
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertEquals(1, t.getTicks());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package assignments.Ex3;
+
+import assignments.Ex3.levels.LevelLoader;
+import assignments.Ex3.server.SimulationResult;
+import assignments.Ex3.server.Tournament;
+import assignments.Ex3.server.TournamentResult;
+import assignments.Ex3.server.control.AiDirectionProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    @Test
+    public void run_isDeterministic_regardlessOfParallelism() {
+        Tournament t = new Tournament(LevelLoader::level0, AiDirectionProvider::new, 1_000);
+
+        TournamentResult serial = t.run(6, 7L, 1);
+        TournamentResult parallel = t.run(6, 7L, 4);
+
+        assertEquals(6, serial.getGameCount());
+        for (int i = 0; i < 6; i++) {
+            SimulationResult a = serial.getGames().get(i);
+            SimulationResult b = parallel.getGames().get(i);
+            assertEquals(a.score(), b.score(), "game " + i);
+            assertEquals(a.steps(), b.steps(), "game " + i);
+        }
+        assertEquals(serial.getWinRate(), parallel.getWinRate());
+    }
+
+    @Test
+    public void gameSeed_differsPerGame() {
+        assertNotEquals(Tournament.gameSeed(1L, 0), Tournament.gameSeed(1L, 1));
+        assertEquals(Tournament.gameSeed(1L, 3), Tournament.gameSeed(1L, 3));
+    }
+
+    @Test
+    public void run_invalidArgs_throw() {
+        Tournament t = new Tournament(LevelLoader::level0, AiDirectionProvider::new);
+        assertThrows(IllegalArgumentException.class, () -> t.run(0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> t.run(1, 1L, 0));
+    }
+}